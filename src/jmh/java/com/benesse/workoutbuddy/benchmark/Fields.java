@@ -0,0 +1,30 @@
+package com.benesse.workoutbuddy.benchmark;
+
+import java.lang.reflect.Field;
+
+/**
+ * ベンチマーク用のフィールド設定
+ *
+ * <p>{@code @Autowired} のフィールドにインメモリ実装を設定するために使用します。</p>
+ */
+public final class Fields {
+
+    private Fields() {
+    }
+
+    public static void set(Object target, String name, Object value) {
+        for (Class<?> type = target.getClass(); type != null; type = type.getSuperclass()) {
+            try {
+                Field field = type.getDeclaredField(name);
+                field.setAccessible(true);
+                field.set(target, value);
+                return;
+            } catch (NoSuchFieldException e) {
+                // スーパークラスを探す
+            } catch (IllegalAccessException e) {
+                throw new RuntimeException(e);
+            }
+        }
+        throw new RuntimeException("フィールドが見つかりません: " + name);
+    }
+}
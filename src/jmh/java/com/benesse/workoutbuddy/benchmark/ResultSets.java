@@ -0,0 +1,50 @@
+package com.benesse.workoutbuddy.benchmark;
+
+import java.lang.reflect.Proxy;
+import java.sql.ResultSet;
+import java.util.Map;
+
+/**
+ * ベンチマーク用のインメモリResultSet
+ *
+ * <p>列名 → 値のマップを1行分として返すだけの {@link ResultSet} を作ります。
+ * RowMapperの列読み出しとエンティティ生成のみを計測するため、ドライバやDBを介しません。
+ * 対応するのは RowMapper が使う getString / getObject / getLong / getInt / getBoolean / wasNull のみです。</p>
+ */
+public final class ResultSets {
+
+    private ResultSets() {
+    }
+
+    public static ResultSet row(Map<String, Object> columns) {
+        boolean[] lastWasNull = new boolean[1];
+        return (ResultSet) Proxy.newProxyInstance(
+            ResultSet.class.getClassLoader(),
+            new Class<?>[] { ResultSet.class },
+            (proxy, method, args) -> {
+                String name = method.getName();
+                if ("wasNull".equals(name)) {
+                    return lastWasNull[0];
+                }
+                if (args == null || args.length == 0 || !(args[0] instanceof String column)) {
+                    throw new UnsupportedOperationException(name);
+                }
+                Object value = columns.get(column);
+                lastWasNull[0] = value == null;
+                switch (name) {
+                    case "getString":
+                        return value != null ? value.toString() : null;
+                    case "getObject":
+                        return value;
+                    case "getLong":
+                        return value != null ? ((Number) value).longValue() : 0L;
+                    case "getInt":
+                        return value != null ? ((Number) value).intValue() : 0;
+                    case "getBoolean":
+                        return value != null && (Boolean) value;
+                    default:
+                        throw new UnsupportedOperationException(name);
+                }
+            });
+    }
+}
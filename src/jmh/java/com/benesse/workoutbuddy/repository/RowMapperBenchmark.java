@@ -0,0 +1,109 @@
+package com.benesse.workoutbuddy.repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.benesse.workoutbuddy.benchmark.ResultSets;
+import com.benesse.workoutbuddy.entity.Notification;
+import com.benesse.workoutbuddy.entity.UserBuddy;
+import com.benesse.workoutbuddy.entity.Workout;
+
+/**
+ * リポジトリのRowMapperのベンチマーク
+ *
+ * <p>1行分のマッピング（列読み出しとエンティティ生成）のスループットと割り当て量を計測します。</p>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class RowMapperBenchmark {
+
+    private WorkoutRepository workoutRepository;
+    private NotificationRepository notificationRepository;
+    private UserBuddyRepository userBuddyRepository;
+
+    private ResultSet workoutRow;
+    private ResultSet notificationRow;
+    private ResultSet userBuddyRow;
+
+    @Setup
+    public void setUp() {
+        workoutRepository = new WorkoutRepository();
+        notificationRepository = new NotificationRepository();
+        userBuddyRepository = new UserBuddyRepository();
+
+        LocalDateTime now = LocalDateTime.of(2024, 12, 25, 10, 30);
+
+        Map<String, Object> workout = new HashMap<>();
+        workout.put("workout_id", "0b9d7c2e-6d0a-4c1f-9a43-2f1e8d6b7a10");
+        workout.put("user_id", "user001");
+        workout.put("workout_date", LocalDate.of(2024, 12, 25));
+        workout.put("start_time", now);
+        workout.put("end_time", now.plusMinutes(30));
+        workout.put("duration_seconds", 1800);
+        workout.put("exercise_type", "ウォーキング");
+        workout.put("comment", "頑張った!!");
+        workout.put("status", "completed");
+        workout.put("created_at", now);
+        workoutRow = ResultSets.row(workout);
+
+        Map<String, Object> notification = new HashMap<>();
+        notification.put("notification_id", "5e3a1f80-2b7c-4d9e-8f01-6a2b3c4d5e6f");
+        notification.put("from_user_id", "user002");
+        notification.put("to_user_id", "user001");
+        notification.put("notification_type", "workout_completed");
+        notification.put("title", "バディが運動完了!");
+        notification.put("message", "\"頑張った!!\"");
+        notification.put("related_data", "{\"workoutId\":\"0b9d7c2e\",\"workoutUserId\":\"user002\",\"liked\":false}");
+        notification.put("is_read", false);
+        notification.put("created_at", now);
+        notification.put("from_user_name", "バディ");
+        notification.put("to_user_name", "ユーザー");
+        notificationRow = ResultSets.row(notification);
+
+        Map<String, Object> userBuddy = new HashMap<>();
+        userBuddy.put("buddy_id", 42L);
+        userBuddy.put("requester_id", "user001");
+        userBuddy.put("requested_id", "user002");
+        userBuddy.put("status", "accepted");
+        userBuddy.put("requested_at", now);
+        userBuddy.put("responded_at", now.plusHours(1));
+        userBuddy.put("requester_user_name", "ユーザー");
+        userBuddy.put("requested_user_name", "バディ");
+        userBuddyRow = ResultSets.row(userBuddy);
+    }
+
+    @Benchmark
+    public Workout workoutRowMapper() throws SQLException {
+        return workoutRepository.workoutRowMapper.mapRow(workoutRow, 0);
+    }
+
+    @Benchmark
+    public Notification notificationRowMapper() throws SQLException {
+        return notificationRepository.notificationRowMapper.mapRow(notificationRow, 0);
+    }
+
+    @Benchmark
+    public UserBuddy userBuddyRowMapper() throws SQLException {
+        return userBuddyRepository.userBuddyRowMapper.mapRow(userBuddyRow, 0);
+    }
+}
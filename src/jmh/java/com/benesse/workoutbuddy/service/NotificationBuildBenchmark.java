@@ -0,0 +1,63 @@
+package com.benesse.workoutbuddy.service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.benesse.workoutbuddy.entity.Notification;
+import com.benesse.workoutbuddy.entity.User;
+import com.benesse.workoutbuddy.entity.Workout;
+
+/**
+ * 運動完了通知の組み立て（relatedDataのJSON生成を含む）のベンチマーク
+ *
+ * <p>バディへの一斉通知では1件の運動完了につきバディ人数分呼ばれます。</p>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class NotificationBuildBenchmark {
+
+    private NotificationService notificationService;
+    private Workout workout;
+    private User workoutUser;
+    private LocalDateTime createdAt;
+
+    @Setup
+    public void setUp() {
+        notificationService = new NotificationService();
+
+        workout = new Workout();
+        workout.setWorkoutId("0b9d7c2e-6d0a-4c1f-9a43-2f1e8d6b7a10");
+        workout.setUserId("user001");
+        workout.setWorkoutDate(LocalDate.of(2024, 12, 25));
+        workout.setExerciseType("ウォーキング");
+        workout.setComment("頑張った!!");
+        workout.setStatus("completed");
+
+        workoutUser = new User();
+        workoutUser.setUserId("user001");
+        workoutUser.setUserName("ユーザー");
+
+        createdAt = LocalDateTime.of(2024, 12, 25, 10, 30);
+    }
+
+    @Benchmark
+    public Notification buildWorkoutCompletedNotification() {
+        return notificationService.buildWorkoutCompletedNotification(workout, workoutUser, "user002", createdAt);
+    }
+}
@@ -0,0 +1,56 @@
+package com.benesse.workoutbuddy.service;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.benesse.workoutbuddy.dto.UserRegistrationDto;
+
+/**
+ * {@link UserService#validateUserRegistration} のベンチマーク
+ *
+ * <p>正常な入力と、最後のチェック（パスワード不一致）で失敗する入力を計測します。</p>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class UserRegistrationValidationBenchmark {
+
+    private UserService userService;
+    private UserRegistrationDto valid;
+    private UserRegistrationDto passwordMismatch;
+
+    @Setup
+    public void setUp() {
+        userService = new UserService();
+        valid = new UserRegistrationDto("user001", "ユーザー", "password1", "password1");
+        passwordMismatch = new UserRegistrationDto("user001", "ユーザー", "password1", "password2");
+    }
+
+    @Benchmark
+    public void valid() {
+        userService.validateUserRegistration(valid);
+    }
+
+    @Benchmark
+    public void passwordMismatch(Blackhole blackhole) {
+        try {
+            userService.validateUserRegistration(passwordMismatch);
+        } catch (RuntimeException e) {
+            blackhole.consume(e);
+        }
+    }
+}
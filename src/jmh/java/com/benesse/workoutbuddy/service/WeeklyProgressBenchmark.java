@@ -0,0 +1,78 @@
+package com.benesse.workoutbuddy.service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.benesse.workoutbuddy.benchmark.Fields;
+import com.benesse.workoutbuddy.cache.ActiveGoalCache;
+import com.benesse.workoutbuddy.dto.ProgressDto;
+import com.benesse.workoutbuddy.entity.UserGoal;
+import com.benesse.workoutbuddy.repository.UserGoalRepository;
+import com.benesse.workoutbuddy.repository.UserWeeklyProgressRepository;
+
+/**
+ * {@link WorkoutService#getWeeklyProgress} のベンチマーク
+ *
+ * <p>目標とその週の運動日数をインメモリのリポジトリから返し、
+ * 目標キャッシュの参照と進捗・励ましメッセージの組み立てを計測します。</p>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class WeeklyProgressBenchmark {
+
+    /** 今週の運動日数（励ましメッセージの分岐を切り替える） */
+    @Param({ "0", "2", "3" })
+    public int workoutDays;
+
+    private WorkoutService workoutService;
+
+    @Setup
+    public void setUp() {
+        UserGoal goal = new UserGoal(1L, "user001", "3months", 3, "ウォーキング", 30,
+            LocalDateTime.now(), LocalDateTime.now(), true, null);
+
+        UserGoalRepository userGoalRepository = new UserGoalRepository() {
+            @Override
+            public Optional<UserGoal> findActiveGoalByUserId(String userId) {
+                return Optional.of(goal);
+            }
+        };
+        UserWeeklyProgressRepository userWeeklyProgressRepository = new UserWeeklyProgressRepository() {
+            @Override
+            public int findDistinctDays(String userId, LocalDate weekStart) {
+                return workoutDays;
+            }
+        };
+
+        ActiveGoalCache activeGoalCache = new ActiveGoalCache(10000, 600);
+        Fields.set(activeGoalCache, "enabled", true);
+        Fields.set(activeGoalCache, "userGoalRepository", userGoalRepository);
+
+        workoutService = new WorkoutService();
+        Fields.set(workoutService, "activeGoalCache", activeGoalCache);
+        Fields.set(workoutService, "userWeeklyProgressRepository", userWeeklyProgressRepository);
+    }
+
+    @Benchmark
+    public ProgressDto getWeeklyProgress() {
+        return workoutService.getWeeklyProgress("user001");
+    }
+}
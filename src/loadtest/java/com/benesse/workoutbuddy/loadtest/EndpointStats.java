@@ -0,0 +1,141 @@
+package com.benesse.workoutbuddy.loadtest;
+
+import java.io.FileNotFoundException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramLogWriter;
+import org.HdrHistogram.Recorder;
+
+/**
+ * エンドポイント別のレイテンシ集計
+ *
+ * <p>エンドポイントごとにHdrHistogramの {@link Recorder} へマイクロ秒単位で記録します。
+ * ウォームアップ中は記録しません。</p>
+ */
+public class EndpointStats {
+
+    /** 記録できる最大レイテンシ（マイクロ秒） */
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+    private final Map<String, Recorder> recorders = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> errors = new ConcurrentHashMap<>();
+
+    private volatile boolean recording = false;
+    private volatile long startNanos;
+    private volatile long endNanos;
+
+    /**
+     * 記録を開始（ウォームアップ中の値は破棄）
+     */
+    public void start() {
+        for (Recorder recorder : recorders.values()) {
+            recorder.reset();
+        }
+        errors.clear();
+        startNanos = System.nanoTime();
+        recording = true;
+    }
+
+    /**
+     * 記録を終了
+     */
+    public void stop() {
+        recording = false;
+        endNanos = System.nanoTime();
+    }
+
+    /**
+     * 1リクエスト分を記録
+     *
+     * @param endpoint エンドポイント名
+     * @param elapsedNanos 所要時間（ナノ秒）
+     * @param success 成功したかどうか（失敗もレイテンシとして記録する）
+     */
+    public void record(String endpoint, long elapsedNanos, boolean success) {
+        if (!recording) {
+            return;
+        }
+        long micros = Math.min(TimeUnit.NANOSECONDS.toMicros(elapsedNanos), HIGHEST_TRACKABLE_MICROS);
+        recorders.computeIfAbsent(endpoint, k -> new Recorder(HIGHEST_TRACKABLE_MICROS, 3)).recordValue(micros);
+        if (!success) {
+            errors.computeIfAbsent(endpoint, k -> new LongAdder()).increment();
+        }
+    }
+
+    /**
+     * 集計結果を出力
+     *
+     * <p>標準出力にエンドポイント別のスループットとパーセンタイル（ミリ秒）を表示し、
+     * {@code outputDir} にHdrHistogram形式のファイルを書き出します。</p>
+     * <ul>
+     *   <li>{@code latency.hlog}: 全エンドポイントのヒストグラムログ（タグ＝エンドポイント名）</li>
+     *   <li>{@code <エンドポイント名>.hgrm}: パーセンタイル分布（HdrHistogram Plotterで可視化可能）</li>
+     * </ul>
+     *
+     * @param outputDir 出力先ディレクトリ
+     */
+    public void report(Path outputDir) throws Exception {
+        double seconds = (endNanos - startNanos) / 1_000_000_000.0;
+        Map<String, Histogram> histograms = new TreeMap<>();
+        recorders.forEach((endpoint, recorder) -> histograms.put(endpoint, recorder.getIntervalHistogram()));
+
+        Files.createDirectories(outputDir);
+        System.out.println();
+        System.out.printf("計測時間: %.1f秒%n", seconds);
+        System.out.printf("%-26s %9s %8s %9s %9s %9s %9s %9s%n",
+            "endpoint", "count", "errors", "req/s", "p50(ms)", "p95(ms)", "p99(ms)", "max(ms)");
+
+        long total = 0;
+        try (PrintStream hlog = new PrintStream(outputDir.resolve("latency.hlog").toFile())) {
+            HistogramLogWriter writer = new HistogramLogWriter(hlog);
+            writer.outputLogFormatVersion();
+            writer.outputStartTime(System.currentTimeMillis() - (long) (seconds * 1000));
+            writer.outputLegend();
+            for (Map.Entry<String, Histogram> entry : histograms.entrySet()) {
+                String endpoint = entry.getKey();
+                Histogram histogram = entry.getValue();
+                long count = histogram.getTotalCount();
+                long errorCount = errors.getOrDefault(endpoint, new LongAdder()).sum();
+                total += count;
+
+                System.out.printf("%-26s %9d %8d %9.1f %9.2f %9.2f %9.2f %9.2f%n",
+                    endpoint, count, errorCount, count / seconds,
+                    millis(histogram.getValueAtPercentile(50)),
+                    millis(histogram.getValueAtPercentile(95)),
+                    millis(histogram.getValueAtPercentile(99)),
+                    millis(histogram.getMaxValue()));
+
+                histogram.setTag(endpoint);
+                histogram.setStartTimeStamp(0);
+                histogram.setEndTimeStamp((long) (seconds * 1000));
+                writer.outputIntervalHistogram(histogram);
+                writePercentiles(outputDir.resolve(fileName(endpoint) + ".hgrm"), histogram);
+            }
+        }
+        System.out.printf("%-26s %9d %8s %9.1f%n", "total", total, "", total / seconds);
+        System.out.println("HdrHistogram出力先: " + outputDir.toAbsolutePath());
+    }
+
+    private void writePercentiles(Path file, Histogram histogram) throws FileNotFoundException {
+        try (PrintStream out = new PrintStream(file.toFile())) {
+            // 値はマイクロ秒で記録しているため、ミリ秒に換算して出力
+            histogram.outputPercentileDistribution(out, 1000.0);
+        }
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+
+    private static String fileName(String endpoint) {
+        return endpoint.replaceAll("[^A-Za-z0-9_-]", "_");
+    }
+}
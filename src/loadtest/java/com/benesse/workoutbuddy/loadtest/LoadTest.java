@@ -0,0 +1,198 @@
+package com.benesse.workoutbuddy.loadtest;
+
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.benesse.workoutbuddy.WorkoutBuddyApplication;
+import com.benesse.workoutbuddy.dto.GoalDto;
+import com.benesse.workoutbuddy.dto.UserRegistrationDto;
+import com.benesse.workoutbuddy.entity.Workout;
+import com.benesse.workoutbuddy.repository.UserBuddyRepository;
+import com.benesse.workoutbuddy.service.BuddyService;
+import com.benesse.workoutbuddy.service.GoalService;
+import com.benesse.workoutbuddy.service.UserService;
+import com.benesse.workoutbuddy.service.WorkoutService;
+
+/**
+ * エンドツーエンド負荷試験
+ *
+ * <p>アプリケーションを同一プロセス内でランダムポートに起動し、仮想スレッド上の模擬ユーザーから
+ * HTTPで操作して、エンドポイント別のスループットとレイテンシ（p50/p95/p99）を計測します。</p>
+ *
+ * <ol>
+ *   <li>負荷試験用データベースを作成（無ければ）し、schema.sql で初期化して起動</li>
+ *   <li>ユーザー・目標・バディ関係をサービス経由で登録（実行ごとに別のユーザーID）</li>
+ *   <li>各ユーザーがフォームログイン（POST /login）後、{@link SimulatedUser} の操作を繰り返す</li>
+ *   <li>ウォーミングアップ後の計測結果を標準出力とHdrHistogram形式のファイルに出力</li>
+ * </ol>
+ *
+ * <p>実行方法: {@code mvn -Pload-test test-compile exec:exec -Dloadtest.args="users=200 duration-seconds=120"}</p>
+ */
+public class LoadTest {
+
+    private static final String PASSWORD = "loadtest1";
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.parse(args);
+        System.out.println("=== 負荷試験: " + config + " ===");
+
+        // devtoolsの再起動でmainが再実行されないよう無効化
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        String jdbcUrl = config.jdbcUrl != null ? config.jdbcUrl : ensureDatabase(config.database);
+        ConfigurableApplicationContext context = SpringApplication.run(WorkoutBuddyApplication.class,
+            "--server.port=0",
+            "--management.server.port=0",
+            "--spring.datasource.url=" + jdbcUrl,
+            "--spring.thymeleaf.cache=true",
+            "--logging.level.com.benesse.workoutbuddy=WARN");
+        int exitCode = 0;
+        try {
+            int port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+            List<String> userIds = seed(context, config);
+            run(context, config, URI.create("http://localhost:" + port), userIds);
+        } catch (Exception e) {
+            e.printStackTrace();
+            exitCode = 1;
+        } finally {
+            SpringApplication.exit(context);
+        }
+        System.exit(exitCode);
+    }
+
+    /**
+     * 模擬ユーザーを実行して結果を出力
+     */
+    private static void run(ConfigurableApplicationContext context, LoadTestConfig config, URI baseUri,
+                            List<String> userIds) throws Exception {
+        WorkoutService workoutService = context.getBean(WorkoutService.class);
+        EndpointStats stats = new EndpointStats();
+        SimulatedUser.WorkoutPool workoutPool = new SimulatedUser.WorkoutPool(Math.max(100, userIds.size() * 2));
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .connectTimeout(Duration.ofSeconds(10))
+                .executor(executor)
+                .build();
+
+            long deadline = System.nanoTime()
+                + TimeUnit.SECONDS.toNanos(config.warmupSeconds + config.durationSeconds);
+            List<Future<?>> users = new ArrayList<>();
+            for (String userId : userIds) {
+                users.add(executor.submit(new SimulatedUser(client, baseUri, userId, PASSWORD, config, stats,
+                    workoutPool, id -> workoutService.getCurrentWorkout(id).map(Workout::getWorkoutId), deadline)));
+            }
+
+            System.out.println("=== ウォーミングアップ " + config.warmupSeconds + "秒 ===");
+            Thread.sleep(TimeUnit.SECONDS.toMillis(config.warmupSeconds));
+            stats.start();
+            System.out.println("=== 計測 " + config.durationSeconds + "秒 ===");
+            Thread.sleep(TimeUnit.SECONDS.toMillis(config.durationSeconds));
+            stats.stop();
+
+            for (Future<?> user : users) {
+                user.get();
+            }
+        }
+        stats.report(Path.of(config.outputDir));
+    }
+
+    /**
+     * ユーザー・目標・バディ関係を登録
+     *
+     * <p>ユーザーIDは実行ごとに異なる接頭辞を付けるため、同じデータベースで繰り返し実行できます。
+     * バディは各ユーザーからIDが後ろのユーザーへ順にリクエストして承認します。</p>
+     *
+     * @return 登録したユーザーIDの一覧
+     */
+    private static List<String> seed(ConfigurableApplicationContext context, LoadTestConfig config) throws Exception {
+        UserService userService = context.getBean(UserService.class);
+        GoalService goalService = context.getBean(GoalService.class);
+        BuddyService buddyService = context.getBean(BuddyService.class);
+        UserBuddyRepository userBuddyRepository = context.getBean(UserBuddyRepository.class);
+
+        long start = System.currentTimeMillis();
+        String runTag = Long.toString(start, 36);
+        runTag = runTag.substring(Math.max(0, runTag.length() - 6));
+        List<String> userIds = new ArrayList<>();
+        for (int i = 0; i < config.users; i++) {
+            userIds.add(String.format("lt%s%05d", runTag, i));
+        }
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> tasks = new ArrayList<>();
+            for (String userId : userIds) {
+                tasks.add(executor.submit(() -> {
+                    userService.registerUser(new UserRegistrationDto(userId, "負荷試験" + userId, PASSWORD, PASSWORD));
+                    goalService.setGoal(userId, new GoalDto(null, userId, "3months", 3, "ウォーキング", 30, true, null, null));
+                }));
+            }
+            awaitAll(tasks);
+
+            int requestsPerUser = Math.min((config.buddiesPerUser + 1) / 2, (userIds.size() - 1) / 2);
+            tasks.clear();
+            for (int i = 0; i < userIds.size(); i++) {
+                int requester = i;
+                tasks.add(executor.submit(() -> {
+                    for (int j = 1; j <= requestsPerUser; j++) {
+                        String requesterId = userIds.get(requester);
+                        String requestedId = userIds.get((requester + j) % userIds.size());
+                        buddyService.sendBuddyRequest(requesterId, requestedId);
+                        userBuddyRepository.findByRequesterIdAndRequestedId(requesterId, requestedId)
+                            .ifPresent(buddy -> buddyService.acceptBuddyRequest(buddy.getBuddyId()));
+                    }
+                }));
+            }
+            awaitAll(tasks);
+        }
+        System.out.println("=== テストデータ登録完了: " + userIds.size() + "ユーザー ("
+            + (System.currentTimeMillis() - start) + "ms) ===");
+        return userIds;
+    }
+
+    private static void awaitAll(List<Future<?>> tasks) throws Exception {
+        for (Future<?> task : tasks) {
+            task.get();
+        }
+    }
+
+    /**
+     * 負荷試験用データベースを作成し、接続URLを返す
+     *
+     * <p>接続先サーバーと認証情報は application.properties の spring.datasource.* を使用します。</p>
+     */
+    private static String ensureDatabase(String database) throws Exception {
+        if (!database.matches("^[A-Za-z0-9_]+$")) {
+            throw new IllegalArgumentException("データベース名は英数字とアンダースコアのみ使用できます: " + database);
+        }
+        Properties properties = new Properties();
+        try (InputStream in = LoadTest.class.getResourceAsStream("/application.properties")) {
+            properties.load(in);
+        }
+        String serverUrl = properties.getProperty("spring.datasource.url").replaceAll("databaseName=[^;]*;?", "");
+        try (Connection connection = DriverManager.getConnection(serverUrl,
+                properties.getProperty("spring.datasource.username"),
+                properties.getProperty("spring.datasource.password"));
+             Statement statement = connection.createStatement()) {
+            statement.execute("IF DB_ID('" + database + "') IS NULL CREATE DATABASE [" + database + "]");
+        }
+        return serverUrl + (serverUrl.endsWith(";") ? "" : ";") + "databaseName=" + database;
+    }
+}
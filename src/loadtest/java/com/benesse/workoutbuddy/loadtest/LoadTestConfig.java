@@ -0,0 +1,79 @@
+package com.benesse.workoutbuddy.loadtest;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 負荷試験の設定
+ *
+ * <p>起動引数の {@code key=value} で指定します（未指定の項目は既定値）。</p>
+ *
+ * <pre>
+ * users=50                  同時ユーザー数
+ * duration-seconds=60       計測時間
+ * warmup-seconds=10         ウォーミングアップ時間（記録しない）
+ * think-millis=200          操作間の待ち時間の平均
+ * buddies-per-user=5        ユーザーごとのバディ数（app.buddy.max-buddies-per-user 以下）
+ * weight.home=40            ホーム画面の比率
+ * weight.check-new=30       新着通知チェックの比率
+ * weight.workout=15         運動開始・完了の比率
+ * weight.reaction=15        リアクションの比率
+ * jdbc-url=...              接続先DB（省略時はSQL Serverの database に接続）
+ * database=oshantydb_loadtest  jdbc-url 省略時に作成・使用するデータベース名
+ * output-dir=target/loadtest/results  HdrHistogramの出力先
+ * </pre>
+ */
+public class LoadTestConfig {
+
+    final int users;
+    final int durationSeconds;
+    final int warmupSeconds;
+    final long thinkMillis;
+    final int buddiesPerUser;
+    final int homeWeight;
+    final int checkNewWeight;
+    final int workoutWeight;
+    final int reactionWeight;
+    final String jdbcUrl;
+    final String database;
+    final String outputDir;
+
+    private LoadTestConfig(Map<String, String> values) {
+        users = Integer.parseInt(values.getOrDefault("users", "50"));
+        durationSeconds = Integer.parseInt(values.getOrDefault("duration-seconds", "60"));
+        warmupSeconds = Integer.parseInt(values.getOrDefault("warmup-seconds", "10"));
+        thinkMillis = Long.parseLong(values.getOrDefault("think-millis", "200"));
+        buddiesPerUser = Integer.parseInt(values.getOrDefault("buddies-per-user", "5"));
+        homeWeight = Integer.parseInt(values.getOrDefault("weight.home", "40"));
+        checkNewWeight = Integer.parseInt(values.getOrDefault("weight.check-new", "30"));
+        workoutWeight = Integer.parseInt(values.getOrDefault("weight.workout", "15"));
+        reactionWeight = Integer.parseInt(values.getOrDefault("weight.reaction", "15"));
+        jdbcUrl = values.get("jdbc-url");
+        database = values.getOrDefault("database", "oshantydb_loadtest");
+        outputDir = values.getOrDefault("output-dir", "target/loadtest/results");
+    }
+
+    public static LoadTestConfig parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("key=value 形式で指定してください: " + arg);
+            }
+            values.put(arg.substring(0, separator), arg.substring(separator + 1));
+        }
+        return new LoadTestConfig(values);
+    }
+
+    int totalWeight() {
+        return homeWeight + checkNewWeight + workoutWeight + reactionWeight;
+    }
+
+    @Override
+    public String toString() {
+        return "users=" + users + ", duration=" + durationSeconds + "s, warmup=" + warmupSeconds + "s"
+            + ", think=" + thinkMillis + "ms, buddies=" + buddiesPerUser
+            + ", mix(home/check-new/workout/reaction)=" + homeWeight + "/" + checkNewWeight + "/"
+            + workoutWeight + "/" + reactionWeight;
+    }
+}
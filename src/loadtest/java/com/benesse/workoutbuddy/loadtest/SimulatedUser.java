@@ -0,0 +1,237 @@
+package com.benesse.workoutbuddy.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * 1ユーザー分の操作シナリオ
+ *
+ * <p>フォームログインでセッションを確立し、終了時刻まで重み付きの操作をランダムに繰り返します。
+ * リダイレクトは追わず、1リクエスト単位でレイテンシを記録します。</p>
+ *
+ * <ul>
+ *   <li>ホーム画面（GET /）</li>
+ *   <li>新着通知チェック（GET /notifications/check-new）</li>
+ *   <li>運動開始・完了（POST /workout/start → POST /workout/complete を交互に実行）</li>
+ *   <li>バディの運動へのリアクション（POST /workout/reaction）</li>
+ * </ul>
+ */
+public class SimulatedUser implements Runnable {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+    private static final String[] EXERCISE_TYPES = { "ウォーキング", "ジョギング", "筋トレ", "ヨガ" };
+    private static final String[] REACTION_TYPES = { "like", "great", "fire" };
+
+    private final HttpClient client;
+    private final URI baseUri;
+    private final String userId;
+    private final String password;
+    private final LoadTestConfig config;
+    private final EndpointStats stats;
+    private final WorkoutPool workoutPool;
+    /** ユーザーIDから進行中の運動IDを取得（リアクション対象の共有用） */
+    private final Function<String, Optional<String>> currentWorkoutLookup;
+    private final long deadlineNanos;
+
+    private String sessionCookie;
+    private boolean workoutInProgress = false;
+
+    public SimulatedUser(HttpClient client, URI baseUri, String userId, String password, LoadTestConfig config,
+                         EndpointStats stats, WorkoutPool workoutPool,
+                         Function<String, Optional<String>> currentWorkoutLookup, long deadlineNanos) {
+        this.client = client;
+        this.baseUri = baseUri;
+        this.userId = userId;
+        this.password = password;
+        this.config = config;
+        this.stats = stats;
+        this.workoutPool = workoutPool;
+        this.currentWorkoutLookup = currentWorkoutLookup;
+        this.deadlineNanos = deadlineNanos;
+    }
+
+    @Override
+    public void run() {
+        try {
+            if (!login()) {
+                System.err.println("ログイン失敗: " + userId);
+                return;
+            }
+            // 全ユーザーが同時に開始しないようにずらす
+            sleepThinkTime();
+            while (System.nanoTime() < deadlineNanos) {
+                step();
+                sleepThinkTime();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void step() throws InterruptedException {
+        int roll = ThreadLocalRandom.current().nextInt(config.totalWeight());
+        if ((roll -= config.homeWeight) < 0) {
+            home();
+        } else if ((roll -= config.checkNewWeight) < 0) {
+            checkNew();
+        } else if ((roll -= config.workoutWeight) < 0) {
+            if (workoutInProgress) {
+                completeWorkout();
+            } else {
+                startWorkout();
+            }
+        } else {
+            react();
+        }
+    }
+
+    private boolean login() throws InterruptedException {
+        HttpRequest request = post("/login", "application/x-www-form-urlencoded",
+            "username=" + encode(userId) + "&password=" + encode(password));
+        HttpResponse<String> response = send("POST /login", request, r -> isRedirectTo(r, "/"));
+        if (response == null) {
+            return false;
+        }
+        // ログイン時にセッションIDが変わるため、応答のCookieを保持
+        sessionCookie = response.headers().allValues("Set-Cookie").stream()
+            .filter(c -> c.startsWith("JSESSIONID="))
+            .map(c -> c.substring(0, c.indexOf(';') > 0 ? c.indexOf(';') : c.length()))
+            .findFirst()
+            .orElse(null);
+        return sessionCookie != null && isRedirectTo(response, "/");
+    }
+
+    private void home() throws InterruptedException {
+        send("GET /", get("/"), r -> r.statusCode() == 200);
+    }
+
+    private void checkNew() throws InterruptedException {
+        send("GET /notifications/check-new", get("/notifications/check-new"),
+            r -> r.statusCode() == 200 && r.body().contains("\"count\""));
+    }
+
+    private void startWorkout() throws InterruptedException {
+        String exerciseType = EXERCISE_TYPES[ThreadLocalRandom.current().nextInt(EXERCISE_TYPES.length)];
+        HttpResponse<String> response = send("POST /workout/start",
+            post("/workout/start", "application/x-www-form-urlencoded", "exerciseType=" + encode(exerciseType)),
+            r -> isRedirectTo(r, "/workout/in-progress"));
+        if (response != null && isRedirectTo(response, "/workout/in-progress")) {
+            workoutInProgress = true;
+            currentWorkoutLookup.apply(userId).ifPresent(workoutPool::add);
+        }
+    }
+
+    private void completeWorkout() throws InterruptedException {
+        send("POST /workout/complete",
+            post("/workout/complete", "application/x-www-form-urlencoded", "comment=" + encode("負荷試験")),
+            r -> r.statusCode() == 302 && !isRedirectTo(r, "/workout/in-progress") && !isRedirectTo(r, "/login"));
+        workoutInProgress = false;
+    }
+
+    private void react() throws InterruptedException {
+        Optional<String> workoutId = workoutPool.pick();
+        if (workoutId.isEmpty()) {
+            home();
+            return;
+        }
+        String reactionType = REACTION_TYPES[ThreadLocalRandom.current().nextInt(REACTION_TYPES.length)];
+        String body = "{\"workoutId\":\"" + workoutId.get() + "\",\"reactionType\":\"" + reactionType + "\"}";
+        send("POST /workout/reaction", post("/workout/reaction", "application/json", body),
+            r -> r.statusCode() == 200 && r.body().contains("\"success\":true"));
+    }
+
+    /**
+     * リクエストを送信して所要時間を記録
+     *
+     * @return 応答（通信エラーの場合はnull）
+     */
+    private HttpResponse<String> send(String endpoint, HttpRequest request,
+                                      Predicate<HttpResponse<String>> success)
+            throws InterruptedException {
+        long start = System.nanoTime();
+        try {
+            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            stats.record(endpoint, System.nanoTime() - start, success.test(response));
+            return response;
+        } catch (IOException e) {
+            stats.record(endpoint, System.nanoTime() - start, false);
+            return null;
+        }
+    }
+
+    private HttpRequest get(String path) {
+        return request(path).GET().build();
+    }
+
+    private HttpRequest post(String path, String contentType, String body) {
+        return request(path)
+            .header("Content-Type", contentType)
+            .POST(HttpRequest.BodyPublishers.ofString(body, StandardCharsets.UTF_8))
+            .build();
+    }
+
+    private HttpRequest.Builder request(String path) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(baseUri.resolve(path)).timeout(REQUEST_TIMEOUT);
+        if (sessionCookie != null) {
+            builder.header("Cookie", sessionCookie);
+        }
+        return builder;
+    }
+
+    private boolean isRedirectTo(HttpResponse<String> response, String path) {
+        if (response.statusCode() / 100 != 3) {
+            return false;
+        }
+        Optional<String> location = response.headers().firstValue("Location");
+        if (location.isEmpty()) {
+            return false;
+        }
+        return path.equals(URI.create(location.get()).getPath());
+    }
+
+    private void sleepThinkTime() throws InterruptedException {
+        if (config.thinkMillis > 0) {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(config.thinkMillis * 2 + 1));
+        }
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * リアクション対象の運動IDの共有プール（直近のものを保持）
+     */
+    public static class WorkoutPool {
+        private final AtomicReferenceArray<String> ids;
+        private final AtomicLong next = new AtomicLong();
+
+        public WorkoutPool(int capacity) {
+            this.ids = new AtomicReferenceArray<>(capacity);
+        }
+
+        public void add(String workoutId) {
+            ids.set((int) (next.getAndIncrement() % ids.length()), workoutId);
+        }
+
+        public Optional<String> pick() {
+            int filled = (int) Math.min(next.get(), ids.length());
+            if (filled == 0) {
+                return Optional.empty();
+            }
+            return Optional.ofNullable(ids.get(ThreadLocalRandom.current().nextInt(filled)));
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.benesse.workoutbuddy.cache;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.benesse.workoutbuddy.entity.UserGoal;
+import com.benesse.workoutbuddy.jdbc.ReadWriteRoutingDataSource;
+import com.benesse.workoutbuddy.repository.UserGoalRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+/**
+ * アクティブ目標のユーザー別キャッシュ
+ * 
+ * <p>{@link UserGoalRepository#findActiveGoalByUserId} の読み取りキャッシュです。
+ * 目標未設定（Optional.empty）も結果としてキャッシュします。</p>
+ * 
+ * <p>目標の変更は {@link #put} でライトスルーします。トランザクション内で呼ばれた場合は
+ * コミット後に反映し、ロールバック時はエントリを破棄します。
+ * 他インスタンスでの変更はTTLで反映されます。</p>
+ * 
+ * <p>呼び出し側がエンティティを変更してもキャッシュが汚れないよう、コピーを返します。</p>
+ */
+@Component
+public class ActiveGoalCache {
+    
+    @Autowired
+    private UserGoalRepository userGoalRepository;
+    
+    @Value("${app.goal.cache.enabled:true}")
+    private boolean enabled;
+    
+    private final Cache<String, Optional<UserGoal>> cache;
+    
+    public ActiveGoalCache(@Value("${app.goal.cache.maximum-size:10000}") long maximumSize,
+                           @Value("${app.goal.cache.ttl-seconds:600}") long ttlSeconds) {
+        this.cache = Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+            .recordStats()
+            .build();
+    }
+    
+    /**
+     * アクティブ目標を取得（キャッシュに無ければDBから読み込み）
+     * 
+     * @param userId ユーザーID
+     * @return アクティブ目標のコピー（未設定の場合は空）
+     */
+    public Optional<UserGoal> findActiveGoal(String userId) {
+        if (!enabled) {
+            return userGoalRepository.findActiveGoalByUserId(userId);
+        }
+        return cache.get(userId, id -> ReadWriteRoutingDataSource.readFromPrimary(
+            () -> userGoalRepository.findActiveGoalByUserId(id))).map(this::copy);
+    }
+    
+    /**
+     * アクティブ目標をライトスルー
+     * 
+     * @param userId ユーザーID
+     * @param goal 新しいアクティブ目標（削除時はnull）
+     */
+    public void put(String userId, UserGoal goal) {
+        Optional<UserGoal> value = Optional.ofNullable(goal).map(this::copy);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            cache.put(userId, value);
+            return;
+        }
+        // コミット前の値を他スレッドが読み込まないよう一旦破棄し、コミット後に反映
+        cache.invalidate(userId);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    cache.put(userId, value);
+                } else {
+                    cache.invalidate(userId);
+                }
+            }
+        });
+    }
+    
+    /**
+     * 指定ユーザーのエントリを破棄
+     */
+    public void invalidate(String userId) {
+        cache.invalidate(userId);
+    }
+    
+    /**
+     * キャッシュ統計（ヒット数・ミス数など）を取得
+     */
+    public CacheStats getStats() {
+        return cache.stats();
+    }
+    
+    private UserGoal copy(UserGoal goal) {
+        return new UserGoal(
+            goal.getGoalId(),
+            goal.getUserId(),
+            goal.getGoalDuration(),
+            goal.getWeeklyFrequency(),
+            goal.getExerciseType(),
+            goal.getSessionTimeMinutes(),
+            goal.getCreatedAt(),
+            goal.getUpdatedAt(),
+            goal.getIsActive(),
+            goal.getUser()
+        );
+    }
+}
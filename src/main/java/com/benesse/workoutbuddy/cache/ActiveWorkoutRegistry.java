@@ -0,0 +1,198 @@
+package com.benesse.workoutbuddy.cache;
+
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.benesse.workoutbuddy.entity.Workout;
+import com.benesse.workoutbuddy.repository.WorkoutRepository;
+
+/**
+ * 進行中の運動セッションのユーザー別レジストリ
+ *
+ * <p>進行中（in_progress）の運動をユーザーIDごとに保持し、進行中画面・運動完了画面・
+ * 開始時の重複チェックをSQLなしで処理します。</p>
+ *
+ * <p>開始は {@link #tryStart}、完了は {@link #tryComplete} でユーザーごとに不可分に行うため、
+ * ダブルクリックなどで同時に開始しても進行中の運動は1ユーザーにつき1件に限られます。
+ * トランザクション内で呼ばれた場合、ロールバック時は登録・削除を取り消します。</p>
+ *
+ * <p>Webサーバーがリクエストを受け付ける前（シングルトン生成完了時）にDBから構築します。
+ * 他インスタンスで完了された運動が残ることがあるため、保持している運動はヒントとして扱い、
+ * 参照・開始時にヒットした場合はDBで進行中であることを確認し、進行中でなければ破棄します。
+ * DB側でも ux_workouts_user_in_progress（進行中の行のみの一意インデックス）で重複を防ぎます。</p>
+ */
+@Component
+public class ActiveWorkoutRegistry implements SmartInitializingSingleton {
+
+    @Autowired
+    private WorkoutRepository workoutRepository;
+
+    /** ユーザーID → 進行中の運動 */
+    private final ConcurrentHashMap<String, Workout> sessions = new ConcurrentHashMap<>();
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        rebuild();
+    }
+
+    /**
+     * 起動時に進行中の運動を読み込み
+     *
+     * <p>同一ユーザーに複数の進行中の運動がある場合（一意インデックス作成前のデータ）は、
+     * 開始時刻が最も新しいものを使用します。</p>
+     */
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        workoutRepository.streamByStatus("in_progress", workout ->
+            sessions.merge(workout.getUserId(), workout, (current, loaded) ->
+                loaded.getStartTime().isAfter(current.getStartTime()) ? loaded : current));
+        System.out.println("進行中運動レジストリ構築完了: " + sessions.size() + "件 ("
+            + (System.currentTimeMillis() - start) + "ms)");
+    }
+
+    /**
+     * 進行中の運動を取得
+     *
+     * @param userId ユーザーID
+     * @return 進行中の運動のコピー（存在しない場合は空）
+     */
+    public Optional<Workout> find(String userId) {
+        Workout current = sessions.get(userId);
+        if (current == null) {
+            return Optional.empty();
+        }
+        if (isInProgress(current)) {
+            return Optional.of(copy(current));
+        }
+        // 他インスタンスで完了済みなど。DBの進行中の運動で置き換える
+        sessions.remove(userId, current);
+        Optional<Workout> inProgress = workoutRepository.findByUserIdAndStatus(userId, "in_progress");
+        inProgress.ifPresent(workout -> sessions.putIfAbsent(userId, copy(workout)));
+        return inProgress;
+    }
+
+    /**
+     * 運動の開始を登録
+     *
+     * <p>既に進行中の運動がある場合は登録せずfalseを返します。登録済みの運動がDB上で
+     * 進行中でなくなっている場合は破棄してから登録します。
+     * 登録後にトランザクションがロールバックされた場合は登録を取り消します。</p>
+     *
+     * @param workout 開始する運動
+     * @return 登録できた場合はtrue
+     */
+    public boolean tryStart(Workout workout) {
+        String userId = workout.getUserId();
+        Workout registered = copy(workout);
+        Workout current;
+        while ((current = sessions.putIfAbsent(userId, registered)) != null) {
+            if (isInProgress(current)) {
+                return false;
+            }
+            sessions.remove(userId, current);
+        }
+        onRollback(() -> sessions.remove(userId, registered));
+        return true;
+    }
+
+    /**
+     * 運動の完了を登録
+     *
+     * <p>指定の運動をレジストリから外します。同じ運動を同時に完了しようとした場合は
+     * 先に外した1件だけがtrueになります。レジストリに無い場合（他インスタンスで開始された運動など）は
+     * 呼び出し側のステータス確認に任せてtrueを返します。
+     * トランザクションがロールバックされた場合は元に戻します。</p>
+     *
+     * @param userId ユーザーID
+     * @param workoutId 運動ID
+     * @return 完了処理を続けてよい場合はtrue
+     */
+    public boolean tryComplete(String userId, String workoutId) {
+        Workout current = sessions.get(userId);
+        if (current == null || !current.getWorkoutId().equals(workoutId)) {
+            return true;
+        }
+        if (!sessions.remove(userId, current)) {
+            return false;
+        }
+        onRollback(() -> sessions.putIfAbsent(userId, current));
+        return true;
+    }
+
+    /**
+     * 運動の開始の登録を取り消す
+     *
+     * <p>開始処理が例外で中断された場合に呼び出します（例外を捕捉した呼び出し元がトランザクションを
+     * コミットしても、登録だけが残らないようにするため）。</p>
+     *
+     * @param userId ユーザーID
+     * @param workoutId 登録した運動ID
+     */
+    public void cancelStart(String userId, String workoutId) {
+        sessions.computeIfPresent(userId,
+            (key, registered) -> registered.getWorkoutId().equals(workoutId) ? null : registered);
+    }
+
+    /**
+     * 運動の完了の登録を取り消し、進行中に戻す
+     *
+     * <p>完了処理が例外で中断された場合に呼び出します。既に別の運動が登録されている場合は何もしません。</p>
+     *
+     * @param workout 完了しようとした運動
+     */
+    public void cancelComplete(Workout workout) {
+        Workout inProgress = copy(workout);
+        inProgress.setEndTime(null);
+        inProgress.setDurationSeconds(null);
+        inProgress.setComment(null);
+        inProgress.setStatus("in_progress");
+        sessions.putIfAbsent(workout.getUserId(), inProgress);
+    }
+
+    /**
+     * 登録済みの運動がDB上で進行中か確認（主キーでの1件確認）
+     */
+    private boolean isInProgress(Workout workout) {
+        return workoutRepository.existsByWorkoutIdAndStatus(workout.getWorkoutId(), "in_progress");
+    }
+
+    public int size() {
+        return sessions.size();
+    }
+
+    private void onRollback(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    action.run();
+                }
+            }
+        });
+    }
+
+    private Workout copy(Workout workout) {
+        return new Workout(
+            workout.getWorkoutId(),
+            workout.getUserId(),
+            workout.getWorkoutDate(),
+            workout.getStartTime(),
+            workout.getEndTime(),
+            workout.getDurationSeconds(),
+            workout.getExerciseType(),
+            workout.getComment(),
+            workout.getStatus(),
+            workout.getCreatedAt(),
+            workout.getUser()
+        );
+    }
+}
@@ -0,0 +1,89 @@
+package com.benesse.workoutbuddy.cache;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.benesse.workoutbuddy.event.WorkoutCompletedEvent;
+import com.benesse.workoutbuddy.jdbc.ReadWriteRoutingDataSource;
+import com.benesse.workoutbuddy.repository.WorkoutRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+/**
+ * ユーザーが記録した運動種別のユーザー別キャッシュ
+ *
+ * <p>運動記録一覧の種別絞り込みの選択肢に使用する
+ * {@link WorkoutRepository#findDistinctExerciseTypesByUserId} の読み取りキャッシュです。
+ * この読み取りはユーザーの運動記録全件を走査するため、表示のたびには実行しません。</p>
+ *
+ * <p>運動完了のイベントをコミット後に受け取り、キャッシュ済みの一覧に運動種別を追加します。
+ * 他インスタンスでの運動完了はTTLで反映されます。</p>
+ */
+@Component
+public class ExerciseTypeCache {
+
+    @Autowired
+    private WorkoutRepository workoutRepository;
+
+    @Value("${app.exercise-type.cache.enabled:true}")
+    private boolean enabled;
+
+    private final Cache<String, List<String>> cache;
+
+    public ExerciseTypeCache(@Value("${app.exercise-type.cache.maximum-size:10000}") long maximumSize,
+                             @Value("${app.exercise-type.cache.ttl-seconds:600}") long ttlSeconds) {
+        this.cache = Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+            .recordStats()
+            .build();
+    }
+
+    /**
+     * ユーザーが記録した運動種別を取得（キャッシュに無ければDBから読み込み）
+     *
+     * @param userId ユーザーID
+     * @return 運動種別のリスト（種別名の昇順、変更不可）
+     */
+    public List<String> findExerciseTypes(String userId) {
+        if (!enabled) {
+            return workoutRepository.findDistinctExerciseTypesByUserId(userId);
+        }
+        return cache.get(userId, id -> List.copyOf(ReadWriteRoutingDataSource.readFromPrimary(
+            () -> workoutRepository.findDistinctExerciseTypesByUserId(id))));
+    }
+
+    /**
+     * キャッシュ統計（ヒット数・ミス数など）を取得
+     */
+    public CacheStats getStats() {
+        return cache.stats();
+    }
+
+    /**
+     * 運動完了時にキャッシュ済みの一覧へ運動種別を追加
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onWorkoutCompleted(WorkoutCompletedEvent event) {
+        String exerciseType = event.getWorkout().getExerciseType();
+        if (exerciseType == null) {
+            return;
+        }
+        cache.asMap().computeIfPresent(event.getUserId(), (userId, types) -> {
+            if (types.contains(exerciseType)) {
+                return types;
+            }
+            List<String> updated = new ArrayList<>(types);
+            updated.add(exerciseType);
+            updated.sort(null);
+            return List.copyOf(updated);
+        });
+    }
+}
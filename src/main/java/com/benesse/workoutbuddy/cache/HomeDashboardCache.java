@@ -0,0 +1,131 @@
+package com.benesse.workoutbuddy.cache;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.benesse.workoutbuddy.event.BuddyRelationChangedEvent;
+import com.benesse.workoutbuddy.event.GoalChangedEvent;
+import com.benesse.workoutbuddy.event.NotificationCreatedEvent;
+import com.benesse.workoutbuddy.event.NotificationsReadEvent;
+import com.benesse.workoutbuddy.event.UserProfileChangedEvent;
+import com.benesse.workoutbuddy.event.WorkoutCompletedEvent;
+import com.benesse.workoutbuddy.repository.UserBuddyRepository;
+import com.benesse.workoutbuddy.service.HomeService;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+/**
+ * ホーム画面データのユーザー別キャッシュ
+ * 
+ * <p>組み立て済みの {@link HomeService.HomeData} をユーザーIDごとに保持します。
+ * 件数上限とTTLで容量・鮮度を制限し、ヒット率などの統計を記録します。</p>
+ * 
+ * <p>ホーム画面の内容が変わるドメインイベント（運動完了・目標変更・バディ関係変更・通知の作成/既読・ユーザー名変更）を
+ * コミット後に受け取り、該当ユーザーのエントリを破棄します。
+ * 運動完了・目標変更・ユーザー名変更はバディのホーム画面（バディ進捗カード）にも影響するため、バディのエントリも破棄します。</p>
+ */
+@Component
+public class HomeDashboardCache {
+    
+    @Autowired
+    private UserBuddyRepository userBuddyRepository;
+    
+    @Value("${app.home.cache.enabled:true}")
+    private boolean enabled;
+    
+    private final Cache<String, HomeService.HomeData> cache;
+    
+    public HomeDashboardCache(@Value("${app.home.cache.maximum-size:10000}") long maximumSize,
+                              @Value("${app.home.cache.ttl-seconds:60}") long ttlSeconds) {
+        this.cache = Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+            .recordStats()
+            .build();
+    }
+    
+    /**
+     * キャッシュからホーム画面データを取得（無ければ読み込んで格納）
+     * 
+     * <p>読み込み中に同じユーザーの破棄要求が来た場合は読み込み完了後に破棄されるため、
+     * 古いデータが残ることはありません。loader が null を返した場合は格納しません。</p>
+     * 
+     * @param userId ユーザーID
+     * @param loader ホーム画面データの読み込み処理（格納しない場合はnullを返す）
+     * @return キャッシュ済みまたは読み込んだデータ（loaderがnullを返した場合はnull）
+     */
+    public HomeService.HomeData get(String userId, Function<String, HomeService.HomeData> loader) {
+        if (!enabled) {
+            return loader.apply(userId);
+        }
+        return cache.get(userId, loader);
+    }
+    
+    /**
+     * 指定ユーザーのエントリを破棄
+     */
+    public void invalidate(String userId) {
+        cache.invalidate(userId);
+    }
+    
+    /**
+     * 指定ユーザーとそのバディ全員のエントリを破棄
+     */
+    public void invalidateWithBuddies(String userId) {
+        cache.invalidate(userId);
+        List<String> buddyIds = userBuddyRepository.findAcceptedBuddyIdsByUserId(userId);
+        cache.invalidateAll(buddyIds);
+    }
+    
+    /**
+     * キャッシュ統計（ヒット数・ミス数など）を取得
+     */
+    public CacheStats getStats() {
+        return cache.stats();
+    }
+    
+    /**
+     * キャッシュ件数（概算）を取得
+     */
+    public long size() {
+        return cache.estimatedSize();
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onWorkoutCompleted(WorkoutCompletedEvent event) {
+        invalidateWithBuddies(event.getUserId());
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onGoalChanged(GoalChangedEvent event) {
+        invalidateWithBuddies(event.getUserId());
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserProfileChanged(UserProfileChangedEvent event) {
+        invalidateWithBuddies(event.getUserId());
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBuddyRelationChanged(BuddyRelationChangedEvent event) {
+        invalidate(event.getUserId());
+        invalidate(event.getBuddyUserId());
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onNotificationCreated(NotificationCreatedEvent event) {
+        invalidate(event.getToUserId());
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onNotificationsRead(NotificationsReadEvent event) {
+        invalidate(event.getUserId());
+    }
+}
@@ -0,0 +1,352 @@
+package com.benesse.workoutbuddy.cache;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.benesse.workoutbuddy.jdbc.ReadWriteRoutingDataSource;
+import com.benesse.workoutbuddy.repository.WorkoutReactionCountRepository;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * 運動リアクション件数の書き込みバッファ
+ * 
+ * <p>リアクションの追加ごとに集計行を更新すると、人気の運動に書き込みが集中して行ロック待ちが発生します。
+ * このクラスは運動ごとにリアクション種別ごとの増分をメモリに溜め、
+ * {@code app.reaction.count.flush-millis} ごとにまとめて workout_reaction_counts へ加算します。
+ * 増分の加算・書き出し対象への移動・削除は運動ごとに {@link ConcurrentHashMap#compute} 内で行うため、
+ * 書き出しと同時に行われた加算も失われません。</p>
+ * 
+ * <p>参照時はDBの件数に未反映の増分（書き出し中の増分を含む）を加えて返すため、件数は常に正確です。
+ * 参照はロックを取らず、対象の運動の書き出しのコミットと重なった場合だけ読み直すため、
+ * コミット直後の二重計上や欠落を防ぎつつ、他の運動の書き出しを待ちません。
+ * 終了時には残りの増分を書き出します。書き出せずに失われた場合も、
+ * 元データの workout_reactions から {@link #rebuild()} で再構築できます。</p>
+ */
+@Component
+public class ReactionCountBuffer {
+    
+    /** 書き出しと重なった参照を楽観的に再試行する回数（超えた場合は書き出しの完了を待って読む） */
+    private static final int OPTIMISTIC_READ_ATTEMPTS = 2;
+    
+    @Autowired
+    private WorkoutReactionCountRepository workoutReactionCountRepository;
+    
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    
+    @Value("${app.reaction.count.rebuild-on-startup:if-empty}")
+    private String rebuildOnStartup;
+    
+    /** 運動ID → 未反映の増分 */
+    private final ConcurrentHashMap<String, WorkoutDeltas> pending = new ConcurrentHashMap<>();
+    
+    /** 書き出し・再構築の排他（仮想スレッドをキャリアスレッドに固定しないよう synchronized は使わない） */
+    private final ReentrantLock flushLock = new ReentrantLock();
+    
+    /** 書き出しの通し番号（flushLock 内でのみ更新。コミットを反映した運動の version になる） */
+    private long flushSequence = 0;
+    
+    /** 再構築の世代（再構築中は奇数） */
+    private final AtomicLong rebuildEpoch = new AtomicLong();
+    
+    /**
+     * 起動時の再構築
+     * 
+     * <p>動作は {@code app.reaction.count.rebuild-on-startup}（if-empty / always / never）で指定します。</p>
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        if ("never".equals(rebuildOnStartup)) {
+            return;
+        }
+        if ("if-empty".equals(rebuildOnStartup)
+                && (!workoutReactionCountRepository.isEmpty() || !workoutReactionCountRepository.hasReactions())) {
+            return;
+        }
+        int rows = rebuild();
+        System.out.println("=== リアクション件数集計の再構築完了: " + rows + "件 ===");
+    }
+    
+    /**
+     * 集計テーブルを workout_reactions から再構築
+     * 
+     * @return 再構築した行数
+     */
+    public int rebuild() {
+        flushLock.lock();
+        rebuildEpoch.incrementAndGet();
+        try {
+            pending.clear();
+            Integer rows = transactionTemplate.execute(status -> workoutReactionCountRepository.rebuildAll());
+            return rows != null ? rows : 0;
+        } finally {
+            rebuildEpoch.incrementAndGet();
+            flushLock.unlock();
+        }
+    }
+    
+    /**
+     * リアクション件数を1加算（コミット後に反映）
+     */
+    public void increment(String workoutId, String reactionType) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    add(workoutId, reactionType, 1);
+                }
+            });
+        } else {
+            add(workoutId, reactionType, 1);
+        }
+    }
+    
+    /**
+     * 運動のリアクション種別ごとの件数（DBの件数＋未反映の増分）
+     */
+    public Map<String, Integer> getCounts(String workoutId) {
+        Map<String, Integer> counts = getCounts(List.of(workoutId)).get(workoutId);
+        return counts != null ? counts : new HashMap<>();
+    }
+    
+    /**
+     * 複数の運動のリアクション種別ごとの件数（DBの件数＋未反映の増分）
+     * 
+     * <p>DBの読み取り前後で対象の運動の増分の状態を比べ、書き出しのコミットと重なっていなければ
+     * そのまま返します。重なった場合は読み直し、それでも重なる場合は書き出しの完了を待って読みます。
+     * 対象外の運動の書き出しでは待ちません。</p>
+     */
+    public Map<String, Map<String, Integer>> getCounts(List<String> workoutIds) {
+        for (int attempt = 0; attempt < OPTIMISTIC_READ_ATTEMPTS; attempt++) {
+            Map<String, Map<String, Integer>> counts = tryReadCounts(workoutIds);
+            if (counts != null) {
+                return counts;
+            }
+        }
+        flushLock.lock();
+        try {
+            return tryReadCounts(workoutIds);
+        } finally {
+            flushLock.unlock();
+        }
+    }
+    
+    /**
+     * DBの件数に未反映の増分を加えて返す（書き出しのコミットと重なった場合はnull）
+     */
+    private Map<String, Map<String, Integer>> tryReadCounts(List<String> workoutIds) {
+        long epoch = rebuildEpoch.get();
+        if ((epoch & 1) != 0) {
+            return null;
+        }
+        Map<String, WorkoutDeltas> before = snapshot(workoutIds);
+        for (WorkoutDeltas deltas : before.values()) {
+            if (deltas.applying) {
+                return null;
+            }
+        }
+        // 未反映の増分はプライマリに対する差分のため、DBの件数もプライマリから読む
+        Map<String, Map<String, Integer>> counts = ReadWriteRoutingDataSource.readFromPrimary(
+            () -> workoutReactionCountRepository.findByWorkoutIds(workoutIds));
+        if (rebuildEpoch.get() != epoch) {
+            return null;
+        }
+        for (String workoutId : workoutIds) {
+            WorkoutDeltas previous = before.get(workoutId);
+            WorkoutDeltas current = pending.get(workoutId);
+            long previousVersion = previous != null ? previous.version : 0;
+            if (current != null ? current.applying || current.version != previousVersion
+                                : previous != null) {
+                return null;
+            }
+            Map<String, Integer> workoutCounts = counts.computeIfAbsent(workoutId, k -> new HashMap<>());
+            if (current != null) {
+                current.deltas.forEach((type, delta) -> {
+                    if (delta.total() != 0) {
+                        workoutCounts.merge(type, (int) delta.total(), Integer::sum);
+                    }
+                });
+            }
+            if (workoutCounts.isEmpty()) {
+                counts.remove(workoutId);
+            }
+        }
+        return counts;
+    }
+    
+    private Map<String, WorkoutDeltas> snapshot(List<String> workoutIds) {
+        Map<String, WorkoutDeltas> snapshot = new HashMap<>();
+        for (String workoutId : workoutIds) {
+            WorkoutDeltas deltas = pending.get(workoutId);
+            if (deltas != null) {
+                snapshot.put(workoutId, deltas);
+            }
+        }
+        return snapshot;
+    }
+    
+    /**
+     * 未反映の増分をまとめてDBへ加算
+     * 
+     * <p>増分は書き出し中として保持したまま書き込み、コミット後に取り除きます。
+     * 書き込みに失敗した場合は未反映の増分に戻し、次回に再試行します。</p>
+     */
+    @Scheduled(fixedDelayString = "${app.reaction.count.flush-millis:300}")
+    public void flush() {
+        flushLock.lock();
+        try {
+            flushLocked();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+    
+    private void flushLocked() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        Map<String, Map<String, Long>> drained = new HashMap<>();
+        for (String workoutId : pending.keySet()) {
+            pending.computeIfPresent(workoutId, (k, current) -> {
+                Map<String, Long> written = current.pendingByType();
+                if (written.isEmpty()) {
+                    // 直近の間隔で増分が無かった運動は破棄
+                    return null;
+                }
+                drained.put(k, written);
+                return current.drain();
+            });
+        }
+        if (drained.isEmpty()) {
+            return;
+        }
+        long sequence = ++flushSequence;
+        
+        List<Object[]> batch = new ArrayList<>();
+        drained.forEach((workoutId, written) -> written.forEach((type, amount) ->
+            batch.add(new Object[] { workoutId, type, amount })));
+        boolean committed;
+        try {
+            transactionTemplate.executeWithoutResult(status -> workoutReactionCountRepository.addDeltas(batch));
+            committed = true;
+        } catch (RuntimeException e) {
+            System.err.println("リアクション件数の書き込みエラー: " + e.getMessage());
+            committed = false;
+        }
+        boolean applied = committed;
+        drained.forEach((workoutId, written) ->
+            pending.computeIfPresent(workoutId, (k, current) -> current.complete(written, applied, sequence)));
+    }
+    
+    /**
+     * 終了時に残りの増分を書き出し
+     */
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+        if (!pending.isEmpty()) {
+            System.err.println("リアクション件数の一部を書き出せませんでした。rebuild() で再構築してください: " + pending.size() + "件");
+        }
+    }
+    
+    private void add(String workoutId, String reactionType, long amount) {
+        pending.compute(workoutId, (k, current) ->
+            (current != null ? current : WorkoutDeltas.EMPTY).add(reactionType, amount));
+    }
+    
+    /**
+     * 運動ごとの増分（不変。更新は {@link ConcurrentHashMap#compute} で差し替える）
+     * 
+     * <p>{@code version} は最後に反映した書き出しの通し番号（運動を破棄して作り直しても前の値に戻らない）、{@code applying} は
+     * 書き出しのトランザクション中であることを表します。参照側はこの2つでコミットとの重なりを検出します。</p>
+     */
+    private static final class WorkoutDeltas {
+        private static final WorkoutDeltas EMPTY = new WorkoutDeltas(Map.of(), 0, false);
+        
+        /** リアクション種別 → 増分 */
+        private final Map<String, Delta> deltas;
+        private final long version;
+        private final boolean applying;
+        
+        WorkoutDeltas(Map<String, Delta> deltas, long version, boolean applying) {
+            this.deltas = deltas;
+            this.version = version;
+            this.applying = applying;
+        }
+        
+        WorkoutDeltas add(String reactionType, long amount) {
+            Map<String, Delta> next = new HashMap<>(deltas);
+            next.merge(reactionType, new Delta(amount, 0),
+                (delta, added) -> new Delta(delta.pending + added.pending, delta.inFlight));
+            return new WorkoutDeltas(next, version, applying);
+        }
+        
+        Map<String, Long> pendingByType() {
+            Map<String, Long> result = new HashMap<>();
+            deltas.forEach((type, delta) -> {
+                if (delta.pending != 0) {
+                    result.put(type, delta.pending);
+                }
+            });
+            return result;
+        }
+        
+        /**
+         * 未書き出しの増分を書き出し中に移す
+         */
+        WorkoutDeltas drain() {
+            Map<String, Delta> next = new HashMap<>();
+            deltas.forEach((type, delta) -> next.put(type, new Delta(0, delta.inFlight + delta.pending)));
+            return new WorkoutDeltas(next, version, true);
+        }
+        
+        /**
+         * 書き出しの結果を反映（失敗時は未書き出しに戻す）
+         */
+        WorkoutDeltas complete(Map<String, Long> written, boolean applied, long sequence) {
+            Map<String, Delta> next = new HashMap<>();
+            deltas.forEach((type, delta) -> {
+                long amount = written.getOrDefault(type, 0L);
+                long pendingDelta = delta.pending + (applied ? 0 : amount);
+                long inFlight = delta.inFlight - amount;
+                if (pendingDelta != 0 || inFlight != 0) {
+                    next.put(type, new Delta(pendingDelta, inFlight));
+                }
+            });
+            return new WorkoutDeltas(next, applied ? sequence : version, false);
+        }
+    }
+    
+    /**
+     * リアクション種別ごとの増分（未書き出し・書き出し中）
+     */
+    private static final class Delta {
+        private final long pending;
+        private final long inFlight;
+        
+        Delta(long pending, long inFlight) {
+            this.pending = pending;
+            this.inFlight = inFlight;
+        }
+        
+        long total() {
+            return pending + inFlight;
+        }
+    }
+}
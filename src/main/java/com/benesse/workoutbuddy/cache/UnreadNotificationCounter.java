@@ -0,0 +1,139 @@
+package com.benesse.workoutbuddy.cache;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.benesse.workoutbuddy.event.NotificationCreatedEvent;
+import com.benesse.workoutbuddy.jdbc.ReadWriteRoutingDataSource;
+import com.benesse.workoutbuddy.repository.NotificationRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * ユーザー別未読通知数カウンター
+ * 
+ * <p>未読数をユーザーごとの {@link AtomicInteger} で保持し、バッジ表示などの参照をDBアクセスなしで返します。
+ * 初回参照時にDBの件数で初期化し、通知の作成で加算、既読化・削除で減算、全既読で0にします。
+ * 増減はトランザクションのコミット後に反映します。</p>
+ * 
+ * <p>初期化と増減が重なった場合や他インスタンスでの変更によるずれは、
+ * 定期的な再集計（{@code app.notification.unread-counter.reconcile-millis}）で補正します。
+ * 一定時間参照されないユーザーのカウンターは破棄し、次回参照時に再初期化します。</p>
+ */
+@Component
+public class UnreadNotificationCounter {
+    
+    /** 再集計時に1クエリで処理するユーザー数 */
+    private static final int RECONCILE_BATCH_SIZE = 500;
+    
+    @Autowired
+    private NotificationRepository notificationRepository;
+    
+    private final Cache<String, AtomicInteger> counters;
+    
+    public UnreadNotificationCounter(@Value("${app.notification.unread-counter.maximum-size:100000}") long maximumSize,
+                                     @Value("${app.notification.unread-counter.idle-seconds:3600}") long idleSeconds) {
+        this.counters = Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfterAccess(Duration.ofSeconds(idleSeconds))
+            .build();
+    }
+    
+    /**
+     * 未読数を取得（未初期化の場合はプライマリのDBから初期化）
+     */
+    public int get(String userId) {
+        return counters.get(userId, id -> new AtomicInteger(ReadWriteRoutingDataSource.readFromPrimary(
+            () -> notificationRepository.countUnreadNotifications(id)))).get();
+    }
+    
+    /**
+     * 未読数を減算（コミット後に反映）
+     */
+    public void decrement(String userId, int delta) {
+        if (delta <= 0) {
+            return;
+        }
+        afterCommit(() -> {
+            AtomicInteger counter = counters.getIfPresent(userId);
+            if (counter != null) {
+                counter.updateAndGet(value -> Math.max(0, value - delta));
+            }
+        });
+    }
+    
+    /**
+     * 未読数を0にする（コミット後に反映）
+     */
+    public void reset(String userId) {
+        afterCommit(() -> {
+            AtomicInteger counter = counters.getIfPresent(userId);
+            if (counter != null) {
+                counter.set(0);
+            }
+        });
+    }
+    
+    /**
+     * 通知作成時に未読数を加算
+     * 
+     * <p>未初期化のユーザーは次回参照時にDBから初期化されるため加算しません。
+     * プッシュ配信より先に反映されるよう最優先で実行します。</p>
+     */
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onNotificationCreated(NotificationCreatedEvent event) {
+        AtomicInteger counter = counters.getIfPresent(event.getToUserId());
+        if (counter != null) {
+            counter.incrementAndGet();
+        }
+    }
+    
+    /**
+     * 保持中のカウンターをDBの件数で再集計
+     */
+    @Scheduled(fixedDelayString = "${app.notification.unread-counter.reconcile-millis:300000}")
+    public void reconcile() {
+        List<String> userIds = new ArrayList<>(counters.asMap().keySet());
+        for (int from = 0; from < userIds.size(); from += RECONCILE_BATCH_SIZE) {
+            List<String> batch = userIds.subList(from, Math.min(from + RECONCILE_BATCH_SIZE, userIds.size()));
+            try {
+                Map<String, Integer> counts = notificationRepository.countUnreadNotificationsByUserIds(batch);
+                for (String userId : batch) {
+                    AtomicInteger counter = counters.getIfPresent(userId);
+                    if (counter != null) {
+                        counter.set(counts.getOrDefault(userId, 0));
+                    }
+                }
+            } catch (RuntimeException e) {
+                System.err.println("未読通知数の再集計エラー: " + e.getMessage());
+            }
+        }
+    }
+    
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,252 @@
+package com.benesse.workoutbuddy.cache;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.benesse.workoutbuddy.entity.User;
+import com.benesse.workoutbuddy.event.UserProfileChangedEvent;
+import com.benesse.workoutbuddy.repository.UserRepository;
+
+/**
+ * ユーザー検索用のインメモリN-gramインデックス
+ *
+ * <p>アクティブユーザーのユーザーIDとユーザー名を小文字化し、長さ1〜3のN-gramから
+ * ユーザーIDへの転置インデックスを作ります。検索語のN-gramの積集合で候補を絞り込んだ後、
+ * 部分一致を確認して一致度順に返します。{@code LIKE '%term%'} による全件走査を行いません。</p>
+ *
+ * <p>起動時にDBから構築し、ユーザー登録・ユーザー名変更のイベントで更新します。
+ * 構築前の検索はユーザーIDの完全一致検索（DB）にフォールバックします。</p>
+ */
+@Component
+public class UserSearchIndex {
+
+    private static final int GRAM_SIZE = 3;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Value("${app.user-search.max-results:20}")
+    private int maxResults;
+
+    /** ユーザーID → ユーザー名 */
+    private volatile Map<String, String> userNames = new ConcurrentHashMap<>();
+
+    /** N-gram → ユーザーIDの集合 */
+    private volatile Map<String, Set<String>> postings = new ConcurrentHashMap<>();
+
+    private volatile boolean ready = false;
+
+    /**
+     * 起動時にインデックスを構築
+     *
+     * <p>新しいマップに構築してから差し替えます。構築中の登録・変更は構築完了まで待たせ、
+     * 差し替え後のインデックスに反映します。</p>
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        long start = System.currentTimeMillis();
+        Map<String, String> newUserNames = new ConcurrentHashMap<>();
+        Map<String, Set<String>> newPostings = new ConcurrentHashMap<>();
+        userRepository.streamActiveUserIdAndNames((userId, userName) ->
+            add(newUserNames, newPostings, userId, userName));
+        userNames = newUserNames;
+        postings = newPostings;
+        ready = true;
+        System.out.println("ユーザー検索インデックス構築完了: " + userNames.size() + "件 ("
+            + (System.currentTimeMillis() - start) + "ms)");
+    }
+
+    /**
+     * ユーザー登録・ユーザー名変更をインデックスに反映
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserProfileChanged(UserProfileChangedEvent event) {
+        put(event.getUserId(), event.getUserName());
+    }
+
+    /**
+     * ユーザーを追加または更新
+     */
+    public synchronized void put(String userId, String userName) {
+        remove(userId);
+        add(userNames, postings, userId, userName);
+    }
+
+    /**
+     * ユーザーを削除
+     */
+    public synchronized void remove(String userId) {
+        String oldName = userNames.remove(userId);
+        if (oldName == null) {
+            return;
+        }
+        for (String gram : grams(userId, oldName)) {
+            Set<String> ids = postings.get(gram);
+            if (ids != null) {
+                ids.remove(userId);
+                if (ids.isEmpty()) {
+                    postings.remove(gram, ids);
+                }
+            }
+        }
+    }
+
+    /**
+     * ユーザーIDまたはユーザー名で検索
+     *
+     * <p>完全一致 → 前方一致 → 部分一致の順（それぞれユーザーIDを優先）に並べ、
+     * 最大 {@code app.user-search.max-results} 件を返します。</p>
+     *
+     * @param term 検索語（大文字小文字は区別しない）
+     * @param excludeUserId 結果から除外するユーザーID（検索者自身など、不要ならnull）
+     * @return ユーザーIDとユーザー名のみを設定したユーザー一覧
+     */
+    public List<User> search(String term, String excludeUserId) {
+        if (term == null || term.isBlank()) {
+            return new ArrayList<>();
+        }
+        if (!ready) {
+            List<User> results = userRepository.findByUserIdExact(term.trim());
+            results.removeIf(user -> user.getUserId().equals(excludeUserId));
+            return results;
+        }
+
+        String query = normalize(term.trim());
+        Set<String> candidates = candidates(query);
+
+        List<Hit> hits = new ArrayList<>();
+        for (String userId : candidates) {
+            if (userId.equals(excludeUserId)) {
+                continue;
+            }
+            String userName = userNames.get(userId);
+            if (userName == null) {
+                continue;
+            }
+            int rank = rank(query, normalize(userId), normalize(userName));
+            if (rank >= 0) {
+                hits.add(new Hit(userId, userName, rank));
+            }
+        }
+
+        hits.sort(Comparator.comparingInt((Hit h) -> h.rank)
+            .thenComparingInt(h -> h.userName.length())
+            .thenComparing(h -> h.userId));
+
+        List<User> results = new ArrayList<>(Math.min(hits.size(), maxResults));
+        for (Hit hit : hits.subList(0, Math.min(hits.size(), maxResults))) {
+            User user = new User();
+            user.setUserId(hit.userId);
+            user.setUserName(hit.userName);
+            results.add(user);
+        }
+        return results;
+    }
+
+    public int size() {
+        return userNames.size();
+    }
+
+    private void add(Map<String, String> nameIndex, Map<String, Set<String>> gramIndex,
+                     String userId, String userName) {
+        if (userId == null) {
+            return;
+        }
+        String name = userName != null ? userName : "";
+        nameIndex.put(userId, name);
+        for (String gram : grams(userId, name)) {
+            gramIndex.computeIfAbsent(gram, k -> ConcurrentHashMap.newKeySet()).add(userId);
+        }
+    }
+
+    /**
+     * 検索語のN-gramを全て含むユーザーIDの集合（件数の少ない順に積集合を取る）
+     */
+    private Set<String> candidates(String query) {
+        List<Set<String>> sets = new ArrayList<>();
+        for (String gram : queryGrams(query)) {
+            Set<String> ids = postings.get(gram);
+            if (ids == null) {
+                return Set.of();
+            }
+            sets.add(ids);
+        }
+        sets.sort(Comparator.comparingInt(Set::size));
+        Set<String> result = new HashSet<>(sets.get(0));
+        for (int i = 1; i < sets.size() && !result.isEmpty(); i++) {
+            result.retainAll(sets.get(i));
+        }
+        return result;
+    }
+
+    /**
+     * 一致度（小さいほど上位、一致しない場合は-1）
+     */
+    private int rank(String query, String userId, String userName) {
+        if (userId.equals(query)) return 0;
+        if (userName.equals(query)) return 1;
+        if (userId.startsWith(query)) return 2;
+        if (userName.startsWith(query)) return 3;
+        if (userId.contains(query)) return 4;
+        if (userName.contains(query)) return 5;
+        return -1;
+    }
+
+    /**
+     * インデックス登録用のN-gram（ユーザーIDとユーザー名それぞれの長さ1〜3の部分文字列）
+     */
+    private Set<String> grams(String userId, String userName) {
+        Set<String> grams = new HashSet<>();
+        for (String text : new String[] { normalize(userId), normalize(userName) }) {
+            for (int n = 1; n <= GRAM_SIZE; n++) {
+                for (int i = 0; i + n <= text.length(); i++) {
+                    grams.add(text.substring(i, i + n));
+                }
+            }
+        }
+        return grams;
+    }
+
+    /**
+     * 検索用のN-gram（3文字以上はトライグラム、未満は検索語そのもの）
+     */
+    private Set<String> queryGrams(String query) {
+        if (query.length() <= GRAM_SIZE) {
+            return Set.of(query);
+        }
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + GRAM_SIZE <= query.length(); i++) {
+            grams.add(query.substring(i, i + GRAM_SIZE));
+        }
+        return grams;
+    }
+
+    private String normalize(String text) {
+        return text == null ? "" : text.toLowerCase(Locale.ROOT);
+    }
+
+    private static class Hit {
+        private final String userId;
+        private final String userName;
+        private final int rank;
+
+        Hit(String userId, String userName, int rank) {
+            this.userId = userId;
+            this.userName = userName;
+            this.rank = rank;
+        }
+    }
+}
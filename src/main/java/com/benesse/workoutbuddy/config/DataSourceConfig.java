@@ -0,0 +1,86 @@
+package com.benesse.workoutbuddy.config;
+
+import java.time.Duration;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import com.benesse.workoutbuddy.jdbc.ReadWriteRoutingDataSource;
+import com.benesse.workoutbuddy.jdbc.ReadYourWritesTracker;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * プライマリ・レプリカ構成のDataSource設定
+ *
+ * <p>{@code app.datasource.replica.url} を設定した場合のみ有効になり、
+ * Spring Boot標準のDataSourceの代わりに {@link ReadWriteRoutingDataSource} を使用します。
+ * プライマリは {@code spring.datasource.*}（{@code spring.datasource.hikari.*} を含む）、
+ * レプリカは {@code app.datasource.replica.*} で設定します。
+ * レプリカのユーザー名・パスワードを省略した場合はプライマリと同じものを使用します。
+ * 両プールともプール名（primary / replica）ごとにHikariのメトリクスを登録します。</p>
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.datasource.replica.url")
+public class DataSourceConfig {
+
+    @Autowired
+    private Environment environment;
+
+    @Value("${app.datasource.replica.url}")
+    private String replicaUrl;
+
+    @Value("${app.datasource.replica.username:${spring.datasource.username:}}")
+    private String replicaUsername;
+
+    @Value("${app.datasource.replica.password:${spring.datasource.password:}}")
+    private String replicaPassword;
+
+    @Value("${app.datasource.read-your-writes-millis:5000}")
+    private long readYourWritesMillis;
+
+    @Value("${app.datasource.read-your-writes-maximum-size:100000}")
+    private long readYourWritesMaximumSize;
+
+    @Bean
+    DataSource dataSource(DataSourceProperties properties, ObjectProvider<MeterRegistry> meterRegistry) {
+        HikariDataSource primary = properties.initializeDataSourceBuilder()
+            .type(HikariDataSource.class)
+            .build();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+        primary.setPoolName("primary");
+
+        HikariDataSource replica = DataSourceBuilder.create()
+            .type(HikariDataSource.class)
+            .driverClassName(properties.determineDriverClassName())
+            .url(replicaUrl)
+            .username(replicaUsername)
+            .password(replicaPassword)
+            .build();
+        Binder.get(environment).bind("app.datasource.replica.hikari", Bindable.ofInstance(replica));
+        replica.setPoolName("replica");
+        replica.setReadOnly(true);
+
+        meterRegistry.ifAvailable(registry -> {
+            primary.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry));
+            replica.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry));
+        });
+
+        ReadYourWritesTracker tracker = new ReadYourWritesTracker(
+            Duration.ofMillis(readYourWritesMillis), readYourWritesMaximumSize);
+        return new ReadWriteRoutingDataSource(primary, replica, tracker);
+    }
+}
@@ -0,0 +1,52 @@
+package com.benesse.workoutbuddy.config;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.concurrent.DelegatingSecurityContextExecutorService;
+
+import com.benesse.workoutbuddy.jdbc.QueryCounter;
+
+/**
+ * 非同期実行用Executor設定
+ */
+@Configuration
+public class ExecutorConfig {
+    
+    /**
+     * 画面データの並列取得用Executor
+     * 
+     * <p>ホーム画面など複数の独立した読み取りを組み合わせる画面で使用します。
+     * タスクはJDBC待ちがほとんどのため、タスクごとに仮想スレッドを割り当てます。
+     * 呼び出し元スレッドの認証情報とSQL実行回数の集計（{@link QueryCounter}）はタスクへ引き継がれます。</p>
+     */
+    @Bean(destroyMethod = "shutdown")
+    ExecutorService pageLoadExecutor() {
+        return new DelegatingSecurityContextExecutorService(
+            QueryCounter.propagating(Executors.newVirtualThreadPerTaskExecutor()));
+    }
+    
+    /**
+     * 通知プッシュ送信用Executor
+     * 
+     * <p>SSE/ロングポーリングのクライアントへの送信を、通知を作成したリクエストのスレッドから切り離します。
+     * 遅いクライアントへの書き込みで業務処理が待たされないよう、送信ごとに仮想スレッドを割り当てます。</p>
+     */
+    @Bean(destroyMethod = "shutdown")
+    ExecutorService notificationPushExecutor() {
+        return Executors.newVirtualThreadPerTaskExecutor();
+    }
+    
+    /**
+     * アウトボックスイベント配信用Executor
+     * 
+     * <p>取得したイベントごとに仮想スレッドを割り当てます。
+     * 同時実行数は配信側（{@code OutboxDispatcher}）で制限します。</p>
+     */
+    @Bean(destroyMethod = "shutdown")
+    ExecutorService outboxDispatchExecutor() {
+        return Executors.newVirtualThreadPerTaskExecutor();
+    }
+}
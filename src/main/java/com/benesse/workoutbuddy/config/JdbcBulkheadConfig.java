@@ -0,0 +1,46 @@
+package com.benesse.workoutbuddy.config;
+
+import java.sql.SQLException;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.benesse.workoutbuddy.jdbc.BulkheadDataSource;
+
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * コネクション取得のバルクヘッド設定
+ *
+ * <p>{@code app.datasource.bulkhead.enabled=true} の場合、DataSourceを {@link BulkheadDataSource} で包みます。
+ * 仮想スレッドでリクエストを処理する場合（{@code spring.threads.virtual.enabled=true}）に併せて有効にします。</p>
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.datasource.bulkhead.enabled", havingValue = "true")
+public class JdbcBulkheadConfig {
+
+    @Bean
+    static BeanPostProcessor jdbcBulkheadPostProcessor(
+            @Value("${app.datasource.bulkhead.max-concurrent:${spring.datasource.hikari.maximum-pool-size:10}}") int maxConcurrent,
+            @Value("${app.datasource.bulkhead.acquire-timeout-millis:30000}") long acquireTimeoutMillis) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof BulkheadDataSource)) {
+                    return new BulkheadDataSource(dataSource, maxConcurrent, acquireTimeoutMillis);
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    MeterBinder jdbcBulkheadMetrics(DataSource dataSource) throws SQLException {
+        return dataSource.unwrap(BulkheadDataSource.class);
+    }
+}
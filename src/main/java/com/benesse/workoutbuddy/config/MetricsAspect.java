@@ -0,0 +1,111 @@
+package com.benesse.workoutbuddy.config;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Pointcut;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * リポジトリ・サービスの処理時間計測
+ *
+ * <p>主要リポジトリとサービスのpublicメソッドの処理時間をTimerに記録します。
+ * リポジトリについては取得件数（List・Optional・バッチ結果の件数）も分布として記録し、
+ * 画面ごとにどのクエリが支配的かをPrometheusで確認できるようにします。</p>
+ *
+ * <ul>
+ *   <li>{@code workoutbuddy.repository}（タグ: repository, method, outcome）</li>
+ *   <li>{@code workoutbuddy.repository.rows}（タグ: repository, method）</li>
+ *   <li>{@code workoutbuddy.service}（タグ: service, method, outcome）</li>
+ * </ul>
+ */
+@Aspect
+@Component
+public class MetricsAspect {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Pointcut("execution(public * com.benesse.workoutbuddy.repository.WorkoutRepository.*(..))"
+        + " || execution(public * com.benesse.workoutbuddy.repository.NotificationRepository.*(..))"
+        + " || execution(public * com.benesse.workoutbuddy.repository.UserRepository.*(..))"
+        + " || execution(public * com.benesse.workoutbuddy.repository.UserBuddyRepository.*(..))"
+        + " || execution(public * com.benesse.workoutbuddy.repository.UserGoalRepository.*(..))")
+    void repositoryMethods() {
+    }
+
+    @Pointcut("within(com.benesse.workoutbuddy.service..*) && execution(public * *(..))")
+    void serviceMethods() {
+    }
+
+    @Around("repositoryMethods()")
+    public Object timeRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+        String repository = joinPoint.getSignature().getDeclaringType().getSimpleName();
+        String method = joinPoint.getSignature().getName();
+        Object result = time("workoutbuddy.repository", "repository", repository, method, joinPoint);
+
+        int rows = rowCount(result);
+        if (rows >= 0) {
+            DistributionSummary.builder("workoutbuddy.repository.rows")
+                .description("リポジトリメソッドの取得件数")
+                .tags("repository", repository, "method", method)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(rows);
+        }
+        return result;
+    }
+
+    @Around("serviceMethods()")
+    public Object timeService(ProceedingJoinPoint joinPoint) throws Throwable {
+        String service = joinPoint.getSignature().getDeclaringType().getSimpleName();
+        return time("workoutbuddy.service", "service", service, joinPoint.getSignature().getName(), joinPoint);
+    }
+
+    private Object time(String name, String typeTag, String type, String method, ProceedingJoinPoint joinPoint)
+            throws Throwable {
+        long start = System.nanoTime();
+        String outcome = "success";
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            outcome = "error";
+            throw e;
+        } finally {
+            Timer.builder(name)
+                .tags(typeTag, type, "method", method, "outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * 戻り値から件数を求める（件数でない戻り値は-1）
+     */
+    private int rowCount(Object result) {
+        if (result instanceof Collection<?> collection) {
+            return collection.size();
+        }
+        if (result instanceof Map<?, ?> map) {
+            return map.size();
+        }
+        if (result instanceof Optional<?> optional) {
+            return optional.isPresent() ? 1 : 0;
+        }
+        if (result instanceof int[] counts) {
+            return counts.length;
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,34 @@
+package com.benesse.workoutbuddy.config;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.benesse.workoutbuddy.jdbc.QueryCountingDataSource;
+
+/**
+ * SQL実行回数の集計設定
+ *
+ * <p>DataSourceを {@link QueryCountingDataSource} で包み、JdbcTemplate・トランザクション管理を含む
+ * 全てのDBアクセスを {@code QueryCountFilter} の集計対象にします。</p>
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.query-count.enabled", havingValue = "true", matchIfMissing = true)
+public class QueryCountConfig {
+
+    @Bean
+    static BeanPostProcessor queryCountingDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof QueryCountingDataSource)) {
+                    return new QueryCountingDataSource(dataSource);
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,16 @@
+package com.benesse.workoutbuddy.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * 定期実行（@Scheduled）設定
+ * 
+ * <p>{@code app.scheduling.enabled=false} で無効にできます（テストなど）。</p>
+ */
+@Configuration
+@EnableScheduling
+@ConditionalOnProperty(name = "app.scheduling.enabled", havingValue = "true", matchIfMissing = true)
+public class SchedulingConfig {
+}
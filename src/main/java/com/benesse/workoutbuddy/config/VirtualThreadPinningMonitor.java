@@ -0,0 +1,89 @@
+package com.benesse.workoutbuddy.config;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+
+/**
+ * 仮想スレッドのピン留めの監視
+ *
+ * <p>JFRの {@code jdk.VirtualThreadPinned} イベント（synchronized内でのブロックなどで
+ * 仮想スレッドがキャリアスレッドを占有した状態）をストリーミングで受け取り、
+ * {@code workoutbuddy.virtual-thread.pinned} のTimerに記録します。
+ * 同じ発生箇所（スタックの先頭フレーム）のスタックトレースは初回のみログに出力します。</p>
+ */
+@Component
+@ConditionalOnProperty(name = "app.virtual-thread.pinned-monitor.enabled", havingValue = "true", matchIfMissing = true)
+public class VirtualThreadPinningMonitor implements SmartLifecycle {
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.virtual-thread.pinned-monitor.threshold-millis:20}")
+    private long thresholdMillis;
+
+    /** ログ出力済みの発生箇所 */
+    private final Map<String, Boolean> reportedFrames = new ConcurrentHashMap<>();
+
+    private RecordingStream stream;
+    private Timer pinnedTimer;
+
+    @Override
+    public synchronized void start() {
+        pinnedTimer = Timer.builder("workoutbuddy.virtual-thread.pinned")
+            .description("仮想スレッドがキャリアスレッドにピン留めされた時間")
+            .register(meterRegistry);
+        stream = new RecordingStream();
+        stream.enable(PINNED_EVENT).withThreshold(Duration.ofMillis(thresholdMillis)).withStackTrace();
+        stream.onEvent(PINNED_EVENT, this::onPinned);
+        stream.startAsync();
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (stream != null) {
+            stream.close();
+            stream = null;
+        }
+    }
+
+    @Override
+    public synchronized boolean isRunning() {
+        return stream != null;
+    }
+
+    private void onPinned(RecordedEvent event) {
+        pinnedTimer.record(event.getDuration());
+        if (event.getStackTrace() == null || event.getStackTrace().getFrames().isEmpty()) {
+            return;
+        }
+        String topFrame = describe(event.getStackTrace().getFrames().get(0));
+        if (reportedFrames.putIfAbsent(topFrame, Boolean.TRUE) == null) {
+            StringBuilder sb = new StringBuilder("仮想スレッドのピン留めを検出: ")
+                .append(event.getDuration().toMillis()).append("ms");
+            for (RecordedFrame frame : event.getStackTrace().getFrames()) {
+                sb.append(System.lineSeparator()).append("  at ").append(describe(frame));
+            }
+            System.out.println(sb);
+        }
+    }
+
+    private static String describe(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName()
+            + ":" + frame.getLineNumber();
+    }
+}
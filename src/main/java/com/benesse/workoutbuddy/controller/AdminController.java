@@ -0,0 +1,44 @@
+package com.benesse.workoutbuddy.controller;
+
+import java.time.LocalDate;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.benesse.workoutbuddy.service.WorkoutExportService;
+
+/**
+ * 管理者用コントローラー
+ * 
+ * <p>{@code /admin/**} はROLE_ADMIN（{@code app.admin.user-ids} に指定したユーザー）のみアクセスできます。</p>
+ */
+@Controller
+@RequestMapping("/admin")
+public class AdminController {
+    
+    @Autowired
+    private WorkoutExportService workoutExportService;
+    
+    /**
+     * 全ユーザーの運動記録をエクスポート
+     * 
+     * @param format 出力形式（csv / ndjson）
+     * @return 運動記録をストリーミングで書き出すレスポンス
+     */
+    @GetMapping("/export/workouts")
+    public ResponseEntity<StreamingResponseBody> exportAllWorkouts(@RequestParam(defaultValue = "csv") String format) {
+        WorkoutExportService.Format exportFormat = WorkoutExportService.Format.of(format);
+        String fileName = "workouts_all_" + LocalDate.now() + "." + exportFormat.getExtension();
+        StreamingResponseBody body = out -> workoutExportService.exportAllWorkouts(exportFormat, out);
+        return ResponseEntity.ok()
+            .header(HttpHeaders.CONTENT_TYPE, exportFormat.getContentType())
+            .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"")
+            .body(body);
+    }
+}
@@ -5,10 +5,7 @@ import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
 
-import com.benesse.workoutbuddy.service.BuddyService;
-import com.benesse.workoutbuddy.service.NotificationService;
-import com.benesse.workoutbuddy.service.UserService;
-import com.benesse.workoutbuddy.service.WorkoutService;
+import com.benesse.workoutbuddy.service.HomeService;
 import com.benesse.workoutbuddy.util.SecurityUtil;
 
 import jakarta.servlet.http.HttpSession;
@@ -16,13 +13,7 @@ import jakarta.servlet.http.HttpSession;
 @Controller
 public class HomeController {
     @Autowired
-    private WorkoutService workoutService;
-    @Autowired
-    private BuddyService buddyService;
-    @Autowired
-    private UserService userService;
-    @Autowired
-    private NotificationService notificationService;
+    private HomeService homeService;
 
     @GetMapping("/")
     public String home(Model model, HttpSession session) {
@@ -32,7 +23,7 @@ public class HomeController {
         }
         
         try {
-            HomeService.HomeData result = new HomeService(userService, workoutService, buddyService, notificationService).getHomeData(userId);
+            HomeService.HomeData result = homeService.getHomeData(userId);
             model.addAttribute("userName", result.getUserName());
             model.addAttribute("progress", result.getProgress());
             model.addAttribute("buddyProgress", result.getBuddyProgress());
@@ -43,52 +34,3 @@ public class HomeController {
         }
     }
 }
-
-// HomeController専用のServiceクラス
-class HomeService {
-    private final UserService userService;
-    private final WorkoutService workoutService;
-    private final BuddyService buddyService;
-    private final NotificationService notificationService;
-
-    public HomeService(UserService userService, WorkoutService workoutService, BuddyService buddyService, NotificationService notificationService) {
-        this.userService = userService;
-        this.workoutService = workoutService;
-        this.buddyService = buddyService;
-        this.notificationService = notificationService;
-    }
-
-    public static class HomeData {
-        private final String userName;
-        private final com.benesse.workoutbuddy.dto.ProgressDto progress;
-        private final java.util.List<com.benesse.workoutbuddy.dto.ProgressDto> buddyProgress;
-        private final int unreadNotificationCount;
-
-        public HomeData(String userName, com.benesse.workoutbuddy.dto.ProgressDto progress, 
-                       java.util.List<com.benesse.workoutbuddy.dto.ProgressDto> buddyProgress, int unreadNotificationCount) {
-            this.userName = userName;
-            this.progress = progress;
-            this.buddyProgress = buddyProgress;
-            this.unreadNotificationCount = unreadNotificationCount;
-        }
-
-        public String getUserName() { return userName; }
-        public com.benesse.workoutbuddy.dto.ProgressDto getProgress() { return progress; }
-        public java.util.List<com.benesse.workoutbuddy.dto.ProgressDto> getBuddyProgress() { return buddyProgress; }
-        public int getUnreadNotificationCount() { return unreadNotificationCount; }
-    }
-
-    public HomeData getHomeData(String userId) {
-        try {
-            String userName = userService.getUserNameSafe(userId);
-            com.benesse.workoutbuddy.dto.ProgressDto progress = workoutService.getWeeklyProgress(userId);
-            java.util.List<com.benesse.workoutbuddy.dto.ProgressDto> buddyProgress = buddyService.getBuddyProgress(userId);
-            int unreadNotificationCount = notificationService.getUnreadCount(userId);
-            return new HomeData(userName, progress, buddyProgress, unreadNotificationCount);
-        } catch (RuntimeException e) {
-            return new HomeData("", 
-                new com.benesse.workoutbuddy.dto.ProgressDto(0, 3, 0, "目標を設定してください"), 
-                java.util.List.of(), 0);
-        }
-    }
-} 
\ No newline at end of file
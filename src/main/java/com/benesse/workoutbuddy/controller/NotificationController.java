@@ -1,20 +1,24 @@
 package com.benesse.workoutbuddy.controller;
 
+import java.util.List;
 import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
-import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import com.benesse.workoutbuddy.service.NotificationPushRegistry;
 import com.benesse.workoutbuddy.service.NotificationService;
-import com.benesse.workoutbuddy.util.NotificationUtil;
 import com.benesse.workoutbuddy.util.SecurityUtil;
 
 import jakarta.servlet.http.HttpSession;
@@ -24,36 +28,35 @@ import jakarta.servlet.http.HttpSession;
 public class NotificationController {
     @Autowired
     private NotificationService notificationService;
+    @Autowired
+    private NotificationPushRegistry notificationPushRegistry;
 
     @GetMapping
-    public String showNotifications(Model model, HttpSession session) {
+    public String showNotifications(@RequestParam(required = false) String before, Model model, HttpSession session) {
         String userId = SecurityUtil.getCurrentUserId();
         if (userId == null) {
             return "redirect:/login";
         }
-        NotificationService.NotificationsResult result = notificationService.getNotificationsPageData(userId);
+        NotificationService.NotificationsResult result = notificationService.getNotificationsPageData(userId, before);
         model.addAttribute("notifications", result.getNotifications());
         model.addAttribute("newNotifications", result.getNewNotifications());
+        model.addAttribute("nextCursor", result.getNextCursor());
         return "notifications";
     }
 
     @GetMapping("/history")
-    public String showNotificationHistory(Model model, HttpSession session) {
+    public String showNotificationHistory(@RequestParam(required = false) String before, Model model, HttpSession session) {
         String userId = SecurityUtil.getCurrentUserId();
         if (userId == null) {
             return "redirect:/login";
         }
-        NotificationService.HistoryResult result = notificationService.getHistoryPageData(userId);
+        NotificationService.HistoryResult result = notificationService.getHistoryPageData(userId, before);
         model.addAttribute("notifications", result.getNotifications());
         model.addAttribute("unreadNotificationCount", result.getUnreadCount());
+        model.addAttribute("nextCursor", result.getNextCursor());
         return "notifications/history";
     }
 
-    @ModelAttribute("getNotificationTypeLabel")
-    public String getNotificationTypeLabel(String notificationType) {
-        return NotificationUtil.getNotificationTypeLabel(notificationType);
-    }
-
     @GetMapping("/check-new")
     @ResponseBody
     public ResponseEntity<Map<String, Object>> checkNewNotifications(HttpSession session) {
@@ -68,6 +71,40 @@ public class NotificationController {
         ));
     }
 
+    /**
+     * 新着通知のSSEストリーム
+     * 
+     * <p>接続時に現在の未読数を送信し、以降は通知の作成・既読時に未読数を送信します。</p>
+     */
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @ResponseBody
+    public SseEmitter streamNotifications(HttpSession session) {
+        String userId = SecurityUtil.getCurrentUserId();
+        if (userId == null) {
+            SseEmitter emitter = new SseEmitter(0L);
+            emitter.complete();
+            return emitter;
+        }
+        return notificationPushRegistry.subscribe(userId);
+    }
+
+    /**
+     * 新着通知のロングポーリング（SSEが使えない環境用）
+     * 
+     * <p>通知の作成・既読が発生するか、タイムアウトするまで応答を保留します。</p>
+     */
+    @GetMapping("/poll")
+    @ResponseBody
+    public DeferredResult<Map<String, Object>> pollNotifications(HttpSession session) {
+        String userId = SecurityUtil.getCurrentUserId();
+        if (userId == null) {
+            DeferredResult<Map<String, Object>> result = new DeferredResult<>();
+            result.setResult(Map.of("hasNewNotifications", false));
+            return result;
+        }
+        return notificationPushRegistry.poll(userId);
+    }
+
     @PostMapping("/mark-read")
     @ResponseBody
     public ResponseEntity<Map<String, Object>> markAsRead(@RequestParam String notificationId, HttpSession session) {
@@ -90,6 +127,49 @@ public class NotificationController {
         return ResponseEntity.ok(Map.of("success", result.isSuccess(), "message", result.getMessage()));
     }
 
+    /**
+     * 複数の通知をまとめて既読にする
+     */
+    @PostMapping("/mark-read-bulk")
+    @ResponseBody
+    public ResponseEntity<Map<String, Object>> markAsReadBulk(@RequestParam List<String> notificationIds, HttpSession session) {
+        String userId = SecurityUtil.getCurrentUserId();
+        if (userId == null) {
+            return ResponseEntity.ok(Map.of("success", false, "message", "ログインが必要です"));
+        }
+        NotificationService.ActionResult result = notificationService.tryMarkAsRead(notificationIds, userId);
+        return ResponseEntity.ok(Map.of("success", result.isSuccess(), "message", result.getMessage()));
+    }
+
+    /**
+     * ページ離脱時に送信された通知をまとめて既読にする
+     * 
+     * <p>{@code navigator.sendBeacon} からの送信を受け付けます。応答は読まれないため本文は返しません。</p>
+     */
+    @PostMapping("/mark-read-beacon")
+    public ResponseEntity<Void> markAsReadBeacon(@RequestParam List<String> notificationIds) {
+        String userId = SecurityUtil.getCurrentUserId();
+        if (userId == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        notificationService.tryMarkAsRead(notificationIds, userId);
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * 複数の通知をまとめて削除
+     */
+    @PostMapping("/delete-bulk")
+    @ResponseBody
+    public ResponseEntity<Map<String, Object>> deleteNotifications(@RequestParam List<String> notificationIds, HttpSession session) {
+        String userId = SecurityUtil.getCurrentUserId();
+        if (userId == null) {
+            return ResponseEntity.ok(Map.of("success", false, "message", "ログインが必要です"));
+        }
+        NotificationService.ActionResult result = notificationService.tryDeleteNotifications(notificationIds, userId);
+        return ResponseEntity.ok(Map.of("success", result.isSuccess(), "message", result.getMessage()));
+    }
+
     @PostMapping("/delete")
     @ResponseBody
     public ResponseEntity<Map<String, Object>> deleteNotification(@RequestParam String notificationId, HttpSession session) {
@@ -1,8 +1,13 @@
 package com.benesse.workoutbuddy.controller;
 
+import java.time.LocalDate;
+import java.util.HashMap;
 import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
@@ -12,9 +17,11 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
 import com.benesse.workoutbuddy.service.UserService;
+import com.benesse.workoutbuddy.service.WorkoutExportService;
 import com.benesse.workoutbuddy.service.WorkoutService;
 import com.benesse.workoutbuddy.util.SecurityUtil;
 
@@ -37,6 +44,8 @@ public class WorkoutController {
     private WorkoutService workoutService;
     @Autowired
     private UserService userService;
+    @Autowired
+    private WorkoutExportService workoutExportService;
 
     /**
      * 運動開始画面を表示
@@ -219,25 +228,90 @@ public class WorkoutController {
         return ResponseEntity.ok(Map.of("success", result.isSuccess(), "message", result.getMessage()));
     }
 
+    /**
+     * 自分の運動記録をエクスポート
+     * 
+     * <p>全期間の運動記録をCSVまたはNDJSONでダウンロードします。
+     * 記録はDBから1件ずつ読み出してそのまま書き出します。</p>
+     * 
+     * @param format 出力形式（csv / ndjson）
+     * @return 運動記録をストリーミングで書き出すレスポンス
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportWorkouts(@RequestParam(defaultValue = "csv") String format) {
+        String userId = SecurityUtil.getCurrentUserId();
+        if (userId == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        WorkoutExportService.Format exportFormat = WorkoutExportService.Format.of(format);
+        String fileName = "workouts_" + LocalDate.now() + "." + exportFormat.getExtension();
+        StreamingResponseBody body = out -> workoutExportService.exportUserWorkouts(userId, exportFormat, out);
+        return ResponseEntity.ok()
+            .header(HttpHeaders.CONTENT_TYPE, exportFormat.getContentType())
+            .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"")
+            .body(body);
+    }
+
     /**
      * 運動記録一覧画面を表示
      * 
      * <p>ユーザーの過去の運動記録を一覧表示します。
-     * 運動日、種別、時間、コメントを確認できます。</p>
+     * 運動日、種別、時間、コメントを確認できます。
+     * 運動種別・期間で絞り込み、{@code before} カーソルで続きのページを表示します。</p>
      * 
+     * @param type 運動種別（任意）
+     * @param from 運動日の下限（任意）
+     * @param to 運動日の上限（任意）
+     * @param before 次ページ取得用カーソル（任意）
      * @param model Spring MVCのモデル
      * @param session HTTPセッション
      * @return 運動記録一覧画面のテンプレート名
      */
     @GetMapping("/records")
-    public String showWorkoutRecords(Model model, HttpSession session) {
+    public String showWorkoutRecords(@RequestParam(required = false) String type,
+                                     @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                     @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                     @RequestParam(required = false) String before,
+                                     Model model, HttpSession session) {
         String userId = SecurityUtil.getCurrentUserId();
         if (userId == null) {
             return "redirect:/login";
         }
-        WorkoutService.RecordsResult result = workoutService.getRecordsData(userId);
+        WorkoutService.RecordsResult result = workoutService.getRecordsData(userId, type, from, to, before);
         model.addAttribute("workouts", result.getWorkouts());
         model.addAttribute("userName", result.getUserName());
+        model.addAttribute("nextCursor", result.getNextCursor());
+        model.addAttribute("exerciseTypes", result.getExerciseTypes());
+        model.addAttribute("unreadNotificationCount", result.getUnreadNotificationCount());
+        model.addAttribute("type", type);
+        model.addAttribute("from", from);
+        model.addAttribute("to", to);
         return "workout/records";
     }
+    
+    /**
+     * 運動記録を1ページ分取得（JSON）
+     * 
+     * @param type 運動種別（任意）
+     * @param from 運動日の下限（任意）
+     * @param to 運動日の上限（任意）
+     * @param before 次ページ取得用カーソル（任意）
+     * @return 運動記録と次ページ取得用カーソル
+     */
+    @GetMapping("/records/page")
+    @ResponseBody
+    public ResponseEntity<Map<String, Object>> getWorkoutRecordsPage(@RequestParam(required = false) String type,
+                                                                     @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                                     @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                                                     @RequestParam(required = false) String before) {
+        String userId = SecurityUtil.getCurrentUserId();
+        if (userId == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        WorkoutService.WorkoutPage page = workoutService.getWorkoutPage(userId, type, from, to, before);
+        Map<String, Object> body = new HashMap<>();
+        body.put("workouts", page.getWorkouts());
+        body.put("nextCursor", page.getNextCursor());
+        return ResponseEntity.ok(body);
+    }
 } 
\ No newline at end of file
@@ -0,0 +1,23 @@
+package com.benesse.workoutbuddy.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+/**
+ * バディ週間進捗の集計結果DTO
+ *
+ * <p>バディ一人分のユーザー名・アクティブ目標の週間頻度・今週の運動日数を
+ * 1回のクエリでまとめて取得するための行データです。</p>
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BuddyWeeklyProgressDto {
+    private String userId;
+    private String userName;
+    /** アクティブ目標の週間頻度（目標未設定の場合はnull） */
+    private Integer weeklyFrequency;
+    /** 今週の運動日数（重複排除済み） */
+    private Integer workoutDays;
+}
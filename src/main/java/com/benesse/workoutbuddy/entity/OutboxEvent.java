@@ -0,0 +1,34 @@
+package com.benesse.workoutbuddy.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+
+/**
+ * アウトボックスイベントエンティティ（Lombok版）
+ * 
+ * <p>業務データの更新と同一トランザクションで記録される副作用（通知作成など）の依頼です。
+ * バックグラウンドの配信処理が取り出して実行します。</p>
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutboxEvent {
+    public static final String TYPE_BUDDY_REQUESTED = "buddy_requested";
+    public static final String TYPE_BUDDY_ACCEPTED = "buddy_accepted";
+    public static final String TYPE_WORKOUT_COMPLETED = "workout_completed";
+    public static final String TYPE_REACTION_ADDED = "reaction_added";
+    
+    private Long eventId;
+    private String eventType; // buddy_requested, buddy_accepted, workout_completed, reaction_added
+    private String aggregateId; // 対象の業務データID（運動ID、バディIDなど）
+    private String payload; // JSON形式の付加情報
+    private String status; // pending, processing, done, failed
+    private Integer attempts; // 配信試行回数
+    private LocalDateTime availableAt; // 次回配信可能日時
+    private LocalDateTime lockedUntil; // 処理中ロックの期限
+    private String lastError;
+    private LocalDateTime createdAt;
+    private LocalDateTime processedAt;
+}
@@ -0,0 +1,26 @@
+package com.benesse.workoutbuddy.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * ユーザー週間進捗集計エンティティ（Lombok版）
+ * 
+ * <p>ユーザー・週（月曜始まり）ごとの完了済み運動の集計値を保持します。
+ * 運動完了時に同一トランザクション内で加算更新されます。</p>
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserWeeklyProgress {
+    private String userId;
+    private LocalDate weekStart; // 週の開始日（月曜日）
+    private Integer distinctDays; // 運動日数（重複排除済み）
+    private Integer totalSeconds; // 合計運動時間（秒）
+    private Integer sessions; // 運動回数
+    private LocalDate lastWorkoutDate; // 最後に集計した運動日（運動日数の加算判定用）
+    private LocalDateTime updatedAt;
+}
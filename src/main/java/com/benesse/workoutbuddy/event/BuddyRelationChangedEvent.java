@@ -0,0 +1,19 @@
+package com.benesse.workoutbuddy.event;
+
+/**
+ * バディ関係変更イベント
+ * 
+ * <p>2人のユーザー間のバディ関係が成立または解除されたことを表します。</p>
+ */
+public class BuddyRelationChangedEvent {
+    private final String userId;
+    private final String buddyUserId;
+    
+    public BuddyRelationChangedEvent(String userId, String buddyUserId) {
+        this.userId = userId;
+        this.buddyUserId = buddyUserId;
+    }
+    
+    public String getUserId() { return userId; }
+    public String getBuddyUserId() { return buddyUserId; }
+}
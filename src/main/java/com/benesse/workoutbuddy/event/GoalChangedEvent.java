@@ -0,0 +1,16 @@
+package com.benesse.workoutbuddy.event;
+
+/**
+ * 目標変更イベント
+ * 
+ * <p>ユーザーのアクティブな目標が設定・変更・削除されたことを表します。</p>
+ */
+public class GoalChangedEvent {
+    private final String userId;
+    
+    public GoalChangedEvent(String userId) {
+        this.userId = userId;
+    }
+    
+    public String getUserId() { return userId; }
+}
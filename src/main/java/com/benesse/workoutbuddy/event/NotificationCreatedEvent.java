@@ -0,0 +1,19 @@
+package com.benesse.workoutbuddy.event;
+
+import com.benesse.workoutbuddy.entity.Notification;
+
+/**
+ * 通知作成イベント
+ * 
+ * <p>通知が保存されたことを表します。</p>
+ */
+public class NotificationCreatedEvent {
+    private final Notification notification;
+    
+    public NotificationCreatedEvent(Notification notification) {
+        this.notification = notification;
+    }
+    
+    public Notification getNotification() { return notification; }
+    public String getToUserId() { return notification.getToUserId(); }
+}
@@ -0,0 +1,16 @@
+package com.benesse.workoutbuddy.event;
+
+/**
+ * 通知既読・削除イベント
+ * 
+ * <p>ユーザーの通知が既読化または削除され、未読数が変化した可能性があることを表します。</p>
+ */
+public class NotificationsReadEvent {
+    private final String userId;
+    
+    public NotificationsReadEvent(String userId) {
+        this.userId = userId;
+    }
+    
+    public String getUserId() { return userId; }
+}
@@ -0,0 +1,19 @@
+package com.benesse.workoutbuddy.event;
+
+/**
+ * ユーザープロフィール変更イベント
+ * 
+ * <p>ユーザーが登録された、またはユーザー名などのプロフィールが変更されたことを表します。</p>
+ */
+public class UserProfileChangedEvent {
+    private final String userId;
+    private final String userName;
+    
+    public UserProfileChangedEvent(String userId, String userName) {
+        this.userId = userId;
+        this.userName = userName;
+    }
+    
+    public String getUserId() { return userId; }
+    public String getUserName() { return userName; }
+}
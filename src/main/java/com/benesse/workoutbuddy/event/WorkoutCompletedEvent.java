@@ -0,0 +1,19 @@
+package com.benesse.workoutbuddy.event;
+
+import com.benesse.workoutbuddy.entity.Workout;
+
+/**
+ * 運動完了イベント
+ * 
+ * <p>運動が完了し、週間進捗が変化したことを表します。</p>
+ */
+public class WorkoutCompletedEvent {
+    private final Workout workout;
+    
+    public WorkoutCompletedEvent(Workout workout) {
+        this.workout = workout;
+    }
+    
+    public Workout getWorkout() { return workout; }
+    public String getUserId() { return workout.getUserId(); }
+}
@@ -0,0 +1,167 @@
+package com.benesse.workoutbuddy.jdbc;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * 同時に使用できるコネクション数をセマフォで制限するDataSource（バルクヘッド）
+ *
+ * <p>仮想スレッドでリクエストを処理すると、コネクションを待つスレッドがプールの大きさに関係なく増えます。
+ * コネクションの取得前に公平なセマフォの許可を取得させることで、待機中のスレッドを到着順に並べ、
+ * コネクションプール内部での取り合いやタイムアウトの多発を防ぎます。
+ * 許可はコネクションのクローズ時に返却します。</p>
+ *
+ * <p>許可数はコネクションプールの最大数以下に設定します。
+ * 待機時間が上限を超えた場合は {@link SQLTransientConnectionException} を投げます。</p>
+ */
+public class BulkheadDataSource extends DelegatingDataSource implements Closeable, MeterBinder {
+
+    private final Semaphore permits;
+    private final long acquireTimeoutMillis;
+    private volatile Timer waitTimer;
+
+    /**
+     * @param targetDataSource 実際にコネクションを取得するDataSource
+     * @param maxConcurrent 同時に使用できるコネクション数
+     * @param acquireTimeoutMillis 許可の取得を待つ時間（ミリ秒）
+     */
+    public BulkheadDataSource(DataSource targetDataSource, int maxConcurrent, long acquireTimeoutMillis) {
+        super(targetDataSource);
+        this.permits = new Semaphore(maxConcurrent, true);
+        this.acquireTimeoutMillis = acquireTimeoutMillis;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        acquire();
+        try {
+            return wrapConnection(obtainTargetDataSource().getConnection());
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        acquire();
+        try {
+            return wrapConnection(obtainTargetDataSource().getConnection(username, password));
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    private void acquire() throws SQLException {
+        long start = System.nanoTime();
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(acquireTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("コネクションの待機中に割り込まれました", e);
+        }
+        Timer timer = waitTimer;
+        if (timer != null) {
+            timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+        if (!acquired) {
+            throw new SQLTransientConnectionException("コネクションの待機がタイムアウトしました（"
+                + acquireTimeoutMillis + "ms、待機中 " + permits.getQueueLength() + "件）");
+        }
+    }
+
+    /**
+     * 包んだDataSourceを閉じる（コネクションプールなどCloseableの場合）
+     */
+    @Override
+    public void close() throws IOException {
+        if (obtainTargetDataSource() instanceof Closeable closeable) {
+            closeable.close();
+        }
+    }
+
+    /**
+     * 待機時間・待機数・空き許可数をメトリクスに登録
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("workoutbuddy.jdbc.bulkhead.waiting", permits, Semaphore::getQueueLength)
+            .description("コネクションの許可を待っているスレッド数")
+            .register(registry);
+        Gauge.builder("workoutbuddy.jdbc.bulkhead.available", permits, Semaphore::availablePermits)
+            .description("空いているコネクションの許可数")
+            .register(registry);
+        waitTimer = Timer.builder("workoutbuddy.jdbc.bulkhead.wait")
+            .description("コネクションの許可の待機時間")
+            .publishPercentileHistogram()
+            .register(registry);
+    }
+
+    private Connection wrapConnection(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(
+            BulkheadDataSource.class.getClassLoader(),
+            new Class<?>[] { Connection.class },
+            new ConnectionHandler(connection));
+    }
+
+    /**
+     * クローズ時に許可を1回だけ返却するConnectionのプロキシ
+     */
+    private class ConnectionHandler implements InvocationHandler {
+        private final Connection target;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        ConnectionHandler(Connection target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "close":
+                    try {
+                        return invokeTarget(method, args);
+                    } finally {
+                        if (released.compareAndSet(false, true)) {
+                            permits.release();
+                        }
+                    }
+                default:
+                    return invokeTarget(method, args);
+            }
+        }
+
+        private Object invokeTarget(Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getTargetException();
+            }
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.benesse.workoutbuddy.jdbc;
+
+import java.io.IOException;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.web.util.OnCommittedResponseWrapper;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * HTTPリクエストごとのSQL実行回数の集計
+ *
+ * <p>リクエストの処理中に実行されたSQLを {@link QueryCounter} で集計し、
+ * 回数（{@code app.query-count.max-queries}）またはDB時間（{@code app.query-count.max-db-millis}）の
+ * 上限を超えたリクエストを、2回以上実行されたSQLの形とともにログに出力します（N+1の検出用）。</p>
+ *
+ * <p>{@code app.query-count.response-header=true} の場合は、応答ヘッダー
+ * {@code X-Query-Count} / {@code X-Query-Time-Millis} に集計結果を付けます（開発時向け）。</p>
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class QueryCountFilter extends OncePerRequestFilter {
+
+    @Value("${app.query-count.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.query-count.max-queries:20}")
+    private int maxQueries;
+
+    @Value("${app.query-count.max-db-millis:200}")
+    private long maxDbMillis;
+
+    @Value("${app.query-count.response-header:false}")
+    private boolean responseHeader;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        if (QueryCounter.current() != null) {
+            // 既に集計中（テストで begin 済みなど）の場合はそのまま集計を続ける
+            chain.doFilter(request, response);
+            return;
+        }
+        QueryCounter.Statistics statistics = QueryCounter.begin();
+        try {
+            chain.doFilter(request, responseHeader ? new QueryCountHeaderResponse(response, statistics) : response);
+        } finally {
+            QueryCounter.end();
+            // 応答がバッファ内に収まっている場合はここで付ける（確定済みなら確定時に付いている）
+            if (responseHeader && !response.isCommitted()) {
+                setHeaders(response, statistics);
+            }
+            if (statistics.getQueryCount() > maxQueries || statistics.getElapsedMillis() > maxDbMillis) {
+                System.out.println("SQL実行回数の上限超過: " + request.getMethod() + " " + request.getRequestURI()
+                    + " " + statistics.getQueryCount() + "件 / DB " + statistics.getElapsedMillis() + "ms"
+                    + System.lineSeparator() + statistics.describe(2));
+            }
+        }
+    }
+
+    /**
+     * 応答の確定時に集計結果をヘッダーに付ける（リダイレクトや途中でのフラッシュ用）
+     */
+    private static class QueryCountHeaderResponse extends OnCommittedResponseWrapper {
+        private final QueryCounter.Statistics statistics;
+
+        QueryCountHeaderResponse(HttpServletResponse response, QueryCounter.Statistics statistics) {
+            super(response);
+            this.statistics = statistics;
+        }
+
+        @Override
+        protected void onResponseCommitted() {
+            setHeaders((HttpServletResponse) getResponse(), statistics);
+        }
+    }
+
+    private static void setHeaders(HttpServletResponse response, QueryCounter.Statistics statistics) {
+        response.setHeader("X-Query-Count", String.valueOf(statistics.getQueryCount()));
+        response.setHeader("X-Query-Time-Millis", String.valueOf(statistics.getElapsedMillis()));
+    }
+}
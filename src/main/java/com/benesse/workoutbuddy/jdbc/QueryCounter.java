@@ -0,0 +1,242 @@
+package com.benesse.workoutbuddy.jdbc;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 処理単位（HTTPリクエストなど）ごとのSQL実行回数・DB時間の集計
+ *
+ * <p>{@link #begin()} から {@link #end()} までの間に {@link QueryCountingDataSource} 経由で実行された
+ * SQLを、SQLの形（空白と IN 句のプレースホルダー数を正規化した文字列）ごとに数えます。
+ * 集計はスレッドに紐付き、{@link #propagating(ExecutorService)} で包んだExecutorのタスクにも引き継がれます。</p>
+ *
+ * <p>テストでは MockMvc でリクエストを実行した後に {@link #assertQueryCount(int)} で
+ * 直前のリクエストのSQL回数を検証できます（{@code QueryCountFilter} が集計します）。</p>
+ */
+public final class QueryCounter {
+
+    private static final ThreadLocal<Statistics> CURRENT = new ThreadLocal<>();
+    private static final ThreadLocal<Statistics> LAST = new ThreadLocal<>();
+
+    private QueryCounter() {
+    }
+
+    /**
+     * 集計を開始
+     *
+     * <p>新しく集計を開始した場合は、このスレッドで直前に終了した集計結果を破棄します
+     * （スレッドプールで再利用されたスレッドが前のリクエストの集計結果を返さないようにするため）。</p>
+     *
+     * @return 集計結果（既に集計中の場合はその集計結果）
+     */
+    public static Statistics begin() {
+        Statistics current = CURRENT.get();
+        if (current != null) {
+            return current;
+        }
+        LAST.remove();
+        Statistics statistics = new Statistics();
+        CURRENT.set(statistics);
+        return statistics;
+    }
+
+    /**
+     * 集計を終了
+     *
+     * @return 集計結果（集計していなかった場合はnull）
+     */
+    public static Statistics end() {
+        Statistics statistics = CURRENT.get();
+        CURRENT.remove();
+        if (statistics != null) {
+            LAST.set(statistics);
+        }
+        return statistics;
+    }
+
+    /**
+     * 集計中の結果（集計していない場合はnull）
+     */
+    public static Statistics current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * 集計中の結果、集計していない場合はこのスレッドで直前に終了した集計結果
+     */
+    public static Statistics currentOrLast() {
+        Statistics current = CURRENT.get();
+        return current != null ? current : LAST.get();
+    }
+
+    /**
+     * SQL実行回数が期待値と一致することを検証
+     *
+     * @param expected 期待するSQL実行回数
+     * @throws AssertionError 一致しない場合（SQLの形ごとの回数を含む）
+     */
+    public static void assertQueryCount(int expected) {
+        Statistics statistics = requireStatistics();
+        if (statistics.getQueryCount() != expected) {
+            throw new AssertionError("SQL実行回数 期待値: " + expected + " 実際: " + statistics.getQueryCount()
+                + System.lineSeparator() + statistics.describe(1));
+        }
+    }
+
+    /**
+     * SQL実行回数が上限以下であることを検証
+     *
+     * @param max SQL実行回数の上限
+     * @throws AssertionError 上限を超えた場合（SQLの形ごとの回数を含む）
+     */
+    public static void assertMaxQueryCount(int max) {
+        Statistics statistics = requireStatistics();
+        if (statistics.getQueryCount() > max) {
+            throw new AssertionError("SQL実行回数 上限: " + max + " 実際: " + statistics.getQueryCount()
+                + System.lineSeparator() + statistics.describe(1));
+        }
+    }
+
+    /**
+     * タスクの実行中も呼び出し元の集計を引き継ぐExecutorServiceを返す
+     *
+     * @param delegate 実際にタスクを実行するExecutorService
+     */
+    public static ExecutorService propagating(ExecutorService delegate) {
+        return new AbstractExecutorService() {
+            @Override
+            public void execute(Runnable command) {
+                Statistics statistics = CURRENT.get();
+                if (statistics == null) {
+                    delegate.execute(command);
+                    return;
+                }
+                delegate.execute(() -> {
+                    Statistics previous = CURRENT.get();
+                    CURRENT.set(statistics);
+                    try {
+                        command.run();
+                    } finally {
+                        if (previous != null) {
+                            CURRENT.set(previous);
+                        } else {
+                            CURRENT.remove();
+                        }
+                    }
+                });
+            }
+
+            @Override
+            public void shutdown() {
+                delegate.shutdown();
+            }
+
+            @Override
+            public List<Runnable> shutdownNow() {
+                return delegate.shutdownNow();
+            }
+
+            @Override
+            public boolean isShutdown() {
+                return delegate.isShutdown();
+            }
+
+            @Override
+            public boolean isTerminated() {
+                return delegate.isTerminated();
+            }
+
+            @Override
+            public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+                return delegate.awaitTermination(timeout, unit);
+            }
+        };
+    }
+
+    /**
+     * SQLの実行を記録（集計中でなければ何もしない）
+     */
+    static void record(String sql, long elapsedNanos) {
+        Statistics statistics = CURRENT.get();
+        if (statistics != null) {
+            statistics.add(sql, elapsedNanos);
+        }
+    }
+
+    private static Statistics requireStatistics() {
+        Statistics statistics = currentOrLast();
+        if (statistics == null) {
+            throw new IllegalStateException("SQL実行回数を集計していません（QueryCounter.begin() または QueryCountFilter が必要です）");
+        }
+        return statistics;
+    }
+
+    /**
+     * SQLの形に正規化（連続する空白を1つにし、IN句などのプレースホルダーの並びをまとめる）
+     */
+    static String shapeOf(String sql) {
+        if (sql == null) {
+            return "";
+        }
+        return sql.trim()
+            .replaceAll("\\s+", " ")
+            .replaceAll("\\?(\\s*,\\s*\\?)+", "?...");
+    }
+
+    /**
+     * 集計結果
+     */
+    public static class Statistics {
+        private final AtomicInteger queryCount = new AtomicInteger();
+        private final LongAdder elapsedNanos = new LongAdder();
+        private final Map<String, AtomicInteger> shapes = new ConcurrentHashMap<>();
+
+        void add(String sql, long nanos) {
+            queryCount.incrementAndGet();
+            elapsedNanos.add(nanos);
+            shapes.computeIfAbsent(shapeOf(sql), k -> new AtomicInteger()).incrementAndGet();
+        }
+
+        /** SQL実行回数 */
+        public int getQueryCount() {
+            return queryCount.get();
+        }
+
+        /** SQL実行時間の合計（ミリ秒） */
+        public long getElapsedMillis() {
+            return TimeUnit.NANOSECONDS.toMillis(elapsedNanos.sum());
+        }
+
+        /**
+         * SQLの形ごとの実行回数（回数の多い順）
+         */
+        public List<Map.Entry<String, Integer>> getShapeCounts() {
+            List<Map.Entry<String, Integer>> counts = new ArrayList<>();
+            shapes.forEach((shape, count) -> counts.add(Map.entry(shape, count.get())));
+            counts.sort(Map.Entry.<String, Integer>comparingByValue(Comparator.reverseOrder()));
+            return counts;
+        }
+
+        /**
+         * 指定回数以上実行されたSQLの形を1行ずつ出力用に整形
+         */
+        public String describe(int minCount) {
+            StringBuilder sb = new StringBuilder();
+            for (Map.Entry<String, Integer> entry : getShapeCounts()) {
+                if (entry.getValue() >= minCount) {
+                    sb.append("  x").append(entry.getValue()).append(' ').append(entry.getKey())
+                      .append(System.lineSeparator());
+                }
+            }
+            return sb.toString();
+        }
+    }
+}
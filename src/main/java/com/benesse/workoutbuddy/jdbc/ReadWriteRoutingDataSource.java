@@ -0,0 +1,124 @@
+package com.benesse.workoutbuddy.jdbc;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.benesse.workoutbuddy.util.SecurityUtil;
+
+/**
+ * 読み取り専用トランザクションをレプリカへ振り分けるDataSource
+ *
+ * <p>{@code @Transactional(readOnly = true)} のトランザクションはレプリカ、
+ * それ以外（書き込み可能なトランザクション・トランザクション外のアクセス）はプライマリを使用します。
+ * トランザクション開始時点では読み取り専用かどうかが確定していないため、
+ * 実際のコネクションは最初のSQL実行時に取得します（{@link LazyConnectionDataSourceProxy}）。</p>
+ *
+ * <p>書き込み可能なトランザクションがコミットされると、ログインユーザーを {@link ReadYourWritesTracker} に記録し、
+ * 一定時間はそのユーザーの読み取り専用トランザクションもプライマリで実行します
+ * （運動完了直後のホーム画面などで、レプリカの反映遅延により自分の書き込みが見えなくなるのを防ぎます）。</p>
+ *
+ * <p>キャッシュに保持する値の読み込みなど、他ユーザーの書き込みも遅延なく見える必要がある読み取りは
+ * {@link #readFromPrimary(Supplier)} 内で実行すると、読み取り専用トランザクションでもプライマリを使用します。</p>
+ */
+public class ReadWriteRoutingDataSource extends LazyConnectionDataSourceProxy implements Closeable {
+
+    private static final String PRIMARY = "primary";
+    private static final String REPLICA = "replica";
+
+    /** プライマリでの読み取りを指定されたスレッド */
+    private static final ThreadLocal<Boolean> PRIMARY_READ = new ThreadLocal<>();
+
+    private final DataSource primary;
+    private final DataSource replica;
+    private final ReadYourWritesTracker tracker;
+
+    public ReadWriteRoutingDataSource(DataSource primary, DataSource replica, ReadYourWritesTracker tracker) {
+        this.primary = primary;
+        this.replica = replica;
+        this.tracker = tracker;
+
+        AbstractRoutingDataSource router = new AbstractRoutingDataSource() {
+            @Override
+            protected Object determineCurrentLookupKey() {
+                return route();
+            }
+        };
+        router.setTargetDataSources(Map.of(PRIMARY, primary, REPLICA, replica));
+        router.setDefaultTargetDataSource(primary);
+        router.afterPropertiesSet();
+        setTargetDataSource(router);
+        afterPropertiesSet();
+    }
+
+    /**
+     * 読み取り専用トランザクションでもプライマリを使用して実行
+     *
+     * <p>コネクションはトランザクション内の最初のSQL実行時に確定するため、
+     * 同じトランザクションで既にレプリカを使用している場合は切り替わりません。
+     * レプリカ構成でない場合はそのまま実行します。</p>
+     *
+     * @param action 実行する処理
+     * @return 処理の結果
+     */
+    public static <T> T readFromPrimary(Supplier<T> action) {
+        Boolean previous = PRIMARY_READ.get();
+        PRIMARY_READ.set(Boolean.TRUE);
+        try {
+            return action.get();
+        } finally {
+            if (previous == null) {
+                PRIMARY_READ.remove();
+            } else {
+                PRIMARY_READ.set(previous);
+            }
+        }
+    }
+
+    /**
+     * 振り分け先を決定
+     */
+    private String route() {
+        String userId = SecurityUtil.getCurrentUserId();
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (PRIMARY_READ.get() != null) {
+                return PRIMARY;
+            }
+            return userId != null && tracker.hasRecentWrite(userId) ? PRIMARY : REPLICA;
+        }
+        if (userId != null && TransactionSynchronizationManager.isActualTransactionActive()
+                && TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    tracker.recordWrite(userId);
+                }
+            });
+        }
+        return PRIMARY;
+    }
+
+    /**
+     * プライマリ・レプリカのコネクションプールを閉じる
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            if (replica instanceof Closeable closeable) {
+                closeable.close();
+            }
+        } finally {
+            if (primary instanceof Closeable closeable) {
+                closeable.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.benesse.workoutbuddy.jdbc;
+
+import java.time.Duration;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * 直近に書き込みを行ったユーザーの記録
+ *
+ * <p>書き込みのコミットから一定時間（レプリカの反映遅延を見込んだ時間）は、
+ * そのユーザーの読み取りをプライマリへ向けるために使用します。</p>
+ */
+public class ReadYourWritesTracker {
+
+    private final Cache<String, Boolean> recentWriters;
+
+    /**
+     * @param window 書き込み後にプライマリから読み取る時間
+     * @param maximumSize 記録するユーザー数の上限
+     */
+    public ReadYourWritesTracker(Duration window, long maximumSize) {
+        this.recentWriters = Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfterWrite(window)
+            .build();
+    }
+
+    /**
+     * 書き込みを記録
+     *
+     * @param userId ユーザーID
+     */
+    public void recordWrite(String userId) {
+        recentWriters.put(userId, Boolean.TRUE);
+    }
+
+    /**
+     * 直近に書き込みを行ったかどうか
+     *
+     * @param userId ユーザーID
+     * @return 書き込みから指定時間内の場合true
+     */
+    public boolean hasRecentWrite(String userId) {
+        return recentWriters.getIfPresent(userId) != null;
+    }
+}
@@ -10,7 +10,11 @@ import org.springframework.stereotype.Repository;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * 通知リポジトリ（JdbcTemplate版）
@@ -21,7 +25,10 @@ public class NotificationRepository {
     @Autowired
     private JdbcTemplate jdbcTemplate;
     
-    private final RowMapper<Notification> notificationRowMapper = new RowMapper<Notification>() {
+    /** IN句1つあたりのID数（SQL Serverのパラメーター上限 2100 未満） */
+    static final int MAX_IDS_PER_STATEMENT = 1000;
+    
+    final RowMapper<Notification> notificationRowMapper = new RowMapper<Notification>() {
         @Override
         public Notification mapRow(ResultSet rs, int rowNum) throws SQLException {
             Notification notification = new Notification();
@@ -66,6 +73,40 @@ public class NotificationRepository {
         return jdbcTemplate.query(sql, notificationRowMapper, toUserId);
     }
     
+    /**
+     * 受信者IDで通知を1ページ分取得（キーセットページング）
+     * 
+     * <p>(created_at, notification_id) の降順で、カーソルより古い通知を最大 {@code limit} 件返します。
+     * カーソルがnullの場合は先頭ページを返します。</p>
+     * 
+     * @param beforeCreatedAt 前ページ最後の通知の作成日時（先頭ページはnull）
+     * @param beforeNotificationId 前ページ最後の通知ID（先頭ページはnull）
+     * @param unreadOnly trueの場合は未読通知のみ
+     */
+    public List<Notification> findPageByToUserId(String toUserId, LocalDateTime beforeCreatedAt,
+                                                 String beforeNotificationId, boolean unreadOnly, int limit) {
+        StringBuilder sql = new StringBuilder(
+                    "SELECT TOP (?) n.*, u1.user_name as from_user_name, u2.user_name as to_user_name " +
+                    "FROM notifications n " +
+                    "LEFT JOIN users u1 ON n.from_user_id = u1.user_id " +
+                    "LEFT JOIN users u2 ON n.to_user_id = u2.user_id " +
+                    "WHERE n.to_user_id = ? AND n.notification_type IS NOT NULL ");
+        List<Object> params = new ArrayList<>();
+        params.add(limit);
+        params.add(toUserId);
+        if (unreadOnly) {
+            sql.append("AND n.is_read = 0 ");
+        }
+        if (beforeCreatedAt != null && beforeNotificationId != null) {
+            sql.append("AND (n.created_at < ? OR (n.created_at = ? AND n.notification_id < ?)) ");
+            params.add(beforeCreatedAt);
+            params.add(beforeCreatedAt);
+            params.add(beforeNotificationId);
+        }
+        sql.append("ORDER BY n.created_at DESC, n.notification_id DESC");
+        return jdbcTemplate.query(sql.toString(), notificationRowMapper, params.toArray());
+    }
+    
     /**
      * 受信者IDで未読通知一覧を取得
      */
@@ -87,6 +128,26 @@ public class NotificationRepository {
         return jdbcTemplate.queryForObject(sql, Integer.class, userId);
     }
     
+    /**
+     * 複数ユーザーの未読通知数をまとめてカウント
+     * 
+     * @return ユーザーIDごとの未読数（未読が0件のユーザーは含まない）
+     */
+    public Map<String, Integer> countUnreadNotificationsByUserIds(List<String> userIds) {
+        if (userIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        String placeholders = String.join(",", Collections.nCopies(userIds.size(), "?"));
+        String sql = "SELECT to_user_id, COUNT(*) AS unread_count FROM notifications " +
+                    "WHERE is_read = 0 AND to_user_id IN (" + placeholders + ") " +
+                    "GROUP BY to_user_id";
+        Map<String, Integer> counts = new HashMap<>();
+        jdbcTemplate.query(sql, rs -> {
+            counts.put(rs.getString("to_user_id"), rs.getInt("unread_count"));
+        }, userIds.toArray());
+        return counts;
+    }
+    
     /**
      * 通知種別で通知一覧を取得
      */
@@ -101,42 +162,142 @@ public class NotificationRepository {
     }
     
     /**
-     * 受信者IDで通知を既読にする
+     * 受信者の未読通知を指定件数まで既読にする
+     * 
+     * <p>未読が多いユーザーでも1文で長時間ロックを保持しないよう、呼び出し側で更新件数が
+     * 指定件数を下回るまで（トランザクションを分けて）繰り返し呼び出します。</p>
+     * 
+     * @return 既読にした件数
+     */
+    public int markUnreadAsReadChunk(String userId, int chunkSize) {
+        String sql = "UPDATE TOP (?) notifications SET is_read = 1 WHERE to_user_id = ? AND is_read = 0";
+        return jdbcTemplate.update(sql, chunkSize, userId);
+    }
+    
+    /**
+     * 受信者本人の通知をまとめて既読にする
+     * 
+     * <p>所有者の確認はWHERE句（to_user_id）で行い、他ユーザーの通知IDは無視されます。
+     * IDは {@link #MAX_IDS_PER_STATEMENT} 件ごとのIN句に分けて更新します。</p>
+     * 
+     * @return 未読から既読にした件数
      */
-    public void markAllAsRead(String userId) {
-        String sql = "UPDATE notifications SET is_read = 1 WHERE to_user_id = ?";
-        jdbcTemplate.update(sql, userId);
+    public int markAsReadByIds(String toUserId, List<String> notificationIds) {
+        int updated = 0;
+        for (List<String> chunk : chunk(notificationIds)) {
+            String sql = "UPDATE notifications SET is_read = 1 " +
+                        "WHERE to_user_id = ? AND is_read = 0 AND notification_id IN (" + placeholders(chunk) + ")";
+            updated += jdbcTemplate.update(sql, withUserId(toUserId, chunk));
+        }
+        return updated;
+    }
+    
+    /**
+     * 受信者本人の通知をまとめて削除
+     * 
+     * <p>所有者の確認はWHERE句（to_user_id）で行い、他ユーザーの通知IDは無視されます。
+     * 削除した通知の既読状態は OUTPUT DELETED で同じ文の結果として受け取ります。</p>
+     * 
+     * @return 削除した通知の既読状態（削除した通知1件につき1要素）
+     */
+    public List<Boolean> deleteByIds(String toUserId, List<String> notificationIds) {
+        List<Boolean> deleted = new ArrayList<>();
+        for (List<String> chunk : chunk(notificationIds)) {
+            String sql = "DELETE FROM notifications OUTPUT DELETED.is_read " +
+                        "WHERE to_user_id = ? AND notification_id IN (" + placeholders(chunk) + ")";
+            deleted.addAll(jdbcTemplate.queryForList(sql, Boolean.class, withUserId(toUserId, chunk)));
+        }
+        return deleted;
+    }
+    
+    private static List<List<String>> chunk(List<String> ids) {
+        List<String> distinct = ids.stream().distinct().toList();
+        List<List<String>> chunks = new ArrayList<>();
+        for (int from = 0; from < distinct.size(); from += MAX_IDS_PER_STATEMENT) {
+            chunks.add(distinct.subList(from, Math.min(from + MAX_IDS_PER_STATEMENT, distinct.size())));
+        }
+        return chunks;
+    }
+    
+    private static String placeholders(List<String> ids) {
+        return String.join(",", Collections.nCopies(ids.size(), "?"));
+    }
+    
+    private static Object[] withUserId(String userId, List<String> ids) {
+        Object[] args = new Object[ids.size() + 1];
+        args[0] = userId;
+        for (int i = 0; i < ids.size(); i++) {
+            args[i + 1] = ids.get(i);
+        }
+        return args;
     }
     
     /**
      * 通知を保存
+     * 
+     * <p>まず既読状態をUPDATEし、更新件数が0件の場合のみINSERTします。
+     * 新規・更新が分かっている場合は {@link #insert(Notification)} / {@link #update(Notification)} を使用してください。</p>
      */
     public Notification save(Notification notification) {
-        if (notification.getNotificationId() == null) {
-            // 新規作成
-            String sql = "INSERT INTO notifications (notification_id, from_user_id, to_user_id, notification_type, title, message, related_data, is_read, created_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
-            jdbcTemplate.update(sql,
-                notification.getNotificationId(),
-                notification.getFromUserId(),
-                notification.getToUserId(),
-                notification.getNotificationType(),
-                notification.getTitle(),
-                notification.getMessage(),
-                notification.getRelatedData(),
-                notification.getIsRead(),
-                notification.getCreatedAt()
-            );
-        } else {
-            // 更新
-            String sql = "UPDATE notifications SET is_read = ? WHERE notification_id = ?";
-            jdbcTemplate.update(sql,
-                notification.getIsRead(),
-                notification.getNotificationId()
-            );
+        if (update(notification) == 0) {
+            insert(notification);
         }
         return notification;
     }
     
+    /**
+     * 通知の既読状態を更新
+     * 
+     * @return 更新件数
+     */
+    public int update(Notification notification) {
+        String sql = "UPDATE notifications SET is_read = ? WHERE notification_id = ?";
+        return jdbcTemplate.update(sql,
+            notification.getIsRead(),
+            notification.getNotificationId()
+        );
+    }
+    
+    /**
+     * 通知を新規登録
+     */
+    public Notification insert(Notification notification) {
+        String sql = "INSERT INTO notifications (notification_id, from_user_id, to_user_id, notification_type, title, message, related_data, is_read, created_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+        jdbcTemplate.update(sql,
+            notification.getNotificationId(),
+            notification.getFromUserId(),
+            notification.getToUserId(),
+            notification.getNotificationType(),
+            notification.getTitle(),
+            notification.getMessage(),
+            notification.getRelatedData(),
+            notification.getIsRead(),
+            notification.getCreatedAt()
+        );
+        return notification;
+    }
+    
+    /**
+     * 通知をまとめて新規登録（JDBCバッチ）
+     */
+    public void insertAll(List<Notification> notifications) {
+        if (notifications.isEmpty()) {
+            return;
+        }
+        String sql = "INSERT INTO notifications (notification_id, from_user_id, to_user_id, notification_type, title, message, related_data, is_read, created_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+        jdbcTemplate.batchUpdate(sql, notifications, notifications.size(), (ps, notification) -> {
+            ps.setString(1, notification.getNotificationId());
+            ps.setString(2, notification.getFromUserId());
+            ps.setString(3, notification.getToUserId());
+            ps.setString(4, notification.getNotificationType());
+            ps.setString(5, notification.getTitle());
+            ps.setString(6, notification.getMessage());
+            ps.setString(7, notification.getRelatedData());
+            ps.setBoolean(8, Boolean.TRUE.equals(notification.getIsRead()));
+            ps.setObject(9, notification.getCreatedAt());
+        });
+    }
+    
     /**
      * 通知を削除
      */
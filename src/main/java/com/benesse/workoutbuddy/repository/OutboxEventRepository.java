@@ -0,0 +1,106 @@
+package com.benesse.workoutbuddy.repository;
+
+import com.benesse.workoutbuddy.entity.OutboxEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * アウトボックスイベントリポジトリ（JdbcTemplate版）
+ */
+@Repository
+public class OutboxEventRepository {
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    /**
+     * イベントを登録
+     * 
+     * <p>業務データの更新と同じトランザクション内で呼び出します。</p>
+     */
+    public void append(String eventType, String aggregateId, String payload) {
+        String sql = "INSERT INTO outbox_events (event_type, aggregate_id, payload, status, attempts, available_at, created_at) " +
+                    "VALUES (?, ?, ?, 'pending', 0, SYSDATETIME(), SYSDATETIME())";
+        jdbcTemplate.update(sql, eventType, aggregateId, payload);
+    }
+    
+    /**
+     * 配信対象のイベントを取得して処理中にする
+     * 
+     * <p>配信可能な未処理イベントと、ロック期限切れの処理中イベントを最大 {@code limit} 件取得します。
+     * READPAST により他の配信処理がロック中の行は読み飛ばすため、複数インスタンスで同時に実行しても
+     * 同じイベントを二重に取得しません。</p>
+     * 
+     * @param lockSeconds 処理中ロックの有効秒数（期限切れのイベントは再取得されます）
+     */
+    public List<OutboxEvent> claimBatch(int limit, int lockSeconds) {
+        String sql = "UPDATE TOP (?) outbox_events WITH (READPAST, UPDLOCK, ROWLOCK) " +
+                    "SET status = 'processing', attempts = attempts + 1, " +
+                    "locked_until = DATEADD(SECOND, ?, SYSDATETIME()) " +
+                    "OUTPUT INSERTED.event_id, INSERTED.event_type, INSERTED.aggregate_id, INSERTED.payload, INSERTED.attempts " +
+                    "WHERE (status = 'pending' AND available_at <= SYSDATETIME()) " +
+                    "OR (status = 'processing' AND locked_until < SYSDATETIME())";
+        return jdbcTemplate.query(sql, (rs, rowNum) -> {
+            OutboxEvent event = new OutboxEvent();
+            event.setEventId(rs.getLong("event_id"));
+            event.setEventType(rs.getString("event_type"));
+            event.setAggregateId(rs.getString("aggregate_id"));
+            event.setPayload(rs.getString("payload"));
+            event.setAttempts(rs.getInt("attempts"));
+            event.setStatus("processing");
+            return event;
+        }, limit, lockSeconds);
+    }
+    
+    /**
+     * イベントを処理済みにする
+     * 
+     * <p>取得時の試行回数のまま処理中の場合のみ更新します。ロック期限切れで他の配信処理が
+     * 取得し直した場合は試行回数が変わっているため更新せず、falseを返します。</p>
+     * 
+     * @param attempts 取得時の試行回数
+     * @return 処理済みにできた場合はtrue
+     */
+    public boolean markDone(Long eventId, int attempts) {
+        String sql = "UPDATE outbox_events SET status = 'done', processed_at = SYSDATETIME(), locked_until = NULL, last_error = NULL " +
+                    "WHERE event_id = ? AND status = 'processing' AND attempts = ?";
+        return jdbcTemplate.update(sql, eventId, attempts) > 0;
+    }
+    
+    /**
+     * イベントを指定秒数後に再試行する（取得時の試行回数のまま処理中の場合のみ）
+     */
+    public void scheduleRetry(Long eventId, int attempts, int delaySeconds, String error) {
+        String sql = "UPDATE outbox_events SET status = 'pending', locked_until = NULL, last_error = ?, " +
+                    "available_at = DATEADD(SECOND, ?, SYSDATETIME()) " +
+                    "WHERE event_id = ? AND status = 'processing' AND attempts = ?";
+        jdbcTemplate.update(sql, truncate(error), delaySeconds, eventId, attempts);
+    }
+    
+    /**
+     * イベントを配信失敗にする（再試行しない。取得時の試行回数のまま処理中の場合のみ）
+     */
+    public void markFailed(Long eventId, int attempts, String error) {
+        String sql = "UPDATE outbox_events SET status = 'failed', locked_until = NULL, last_error = ?, processed_at = SYSDATETIME() " +
+                    "WHERE event_id = ? AND status = 'processing' AND attempts = ?";
+        jdbcTemplate.update(sql, truncate(error), eventId, attempts);
+    }
+    
+    /**
+     * 指定日数より前に処理済みになったイベントを削除
+     */
+    public int deleteDoneOlderThanDays(int days) {
+        String sql = "DELETE FROM outbox_events WHERE status = 'done' AND processed_at < DATEADD(DAY, ?, SYSDATETIME())";
+        return jdbcTemplate.update(sql, -days);
+    }
+    
+    private String truncate(String error) {
+        if (error == null) {
+            return null;
+        }
+        return error.length() > 500 ? error.substring(0, 500) : error;
+    }
+}
@@ -1,5 +1,6 @@
 package com.benesse.workoutbuddy.repository;
 
+import com.benesse.workoutbuddy.dto.BuddyWeeklyProgressDto;
 import com.benesse.workoutbuddy.entity.UserBuddy;
 import com.benesse.workoutbuddy.entity.User;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -9,7 +10,9 @@ import org.springframework.stereotype.Repository;
 
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
@@ -19,10 +22,15 @@ import java.util.Optional;
 @Repository
 public class UserBuddyRepository {
     
+    /** 1文あたりのパラメータ数の上限（SQL Serverの上限2100未満） */
+    private static final int MAX_PARAMETERS = 2000;
+    
+    private static final String UPDATE_SQL = "UPDATE user_buddies SET status = ?, responded_at = ? WHERE buddy_id = ?";
+    
     @Autowired
     private JdbcTemplate jdbcTemplate;
     
-    private final RowMapper<UserBuddy> userBuddyRowMapper = new RowMapper<UserBuddy>() {
+    final RowMapper<UserBuddy> userBuddyRowMapper = new RowMapper<UserBuddy>() {
         @Override
         public UserBuddy mapRow(ResultSet rs, int rowNum) throws SQLException {
             UserBuddy userBuddy = new UserBuddy();
@@ -74,6 +82,39 @@ public class UserBuddyRepository {
         return jdbcTemplate.query(sql, userBuddyRowMapper, userId, userId);
     }
     
+    /**
+     * ユーザーIDで承認済みバディのユーザーID一覧を取得
+     */
+    public List<String> findAcceptedBuddyIdsByUserId(String userId) {
+        String sql = "SELECT CASE WHEN requester_id = ? THEN requested_id ELSE requester_id END " +
+                    "FROM user_buddies " +
+                    "WHERE (requester_id = ? OR requested_id = ?) AND status = 'accepted'";
+        return jdbcTemplate.queryForList(sql, String.class, userId, userId, userId);
+    }
+    
+    /**
+     * ユーザーIDでバディ全員の週間進捗を一括取得
+     * 
+     * <p>承認済みバディごとのユーザー名・アクティブ目標の週間頻度・指定週の運動日数を
+     * 1回のクエリで取得します。バディ数に関わらずDBへのラウンドトリップは1回です。
+     * 運動日数は週間進捗集計テーブル（user_weekly_progress）から取得します。</p>
+     */
+    public List<BuddyWeeklyProgressDto> findBuddyWeeklyProgressByUserId(String userId, LocalDate weekStart) {
+        String sql = "SELECT u.user_id, u.user_name, " +
+                    "(SELECT TOP 1 g.weekly_frequency FROM user_goals g WHERE g.user_id = u.user_id AND g.is_active = 1) AS weekly_frequency, " +
+                    "COALESCE(p.distinct_days, 0) AS workout_days " +
+                    "FROM user_buddies ub " +
+                    "INNER JOIN users u ON u.user_id = CASE WHEN ub.requester_id = ? THEN ub.requested_id ELSE ub.requester_id END " +
+                    "LEFT JOIN user_weekly_progress p ON p.user_id = u.user_id AND p.week_start = ? " +
+                    "WHERE (ub.requester_id = ? OR ub.requested_id = ?) AND ub.status = 'accepted'";
+        return jdbcTemplate.query(sql, (rs, rowNum) -> new BuddyWeeklyProgressDto(
+                rs.getString("user_id"),
+                rs.getString("user_name"),
+                rs.getObject("weekly_frequency", Integer.class),
+                rs.getInt("workout_days")
+            ), userId, weekStart, userId, userId);
+    }
+    
     /**
      * ユーザーIDで保留中のリクエスト一覧を取得
      */
@@ -111,32 +152,94 @@ public class UserBuddyRepository {
      */
     public UserBuddy save(UserBuddy userBuddy) {
         if (userBuddy.getBuddyId() == null) {
-            // 新規作成
-            String sql = "INSERT INTO user_buddies (requester_id, requested_id, status, requested_at, responded_at) VALUES (?, ?, ?, ?, ?)";
-            jdbcTemplate.update(sql,
-                userBuddy.getRequesterId(),
-                userBuddy.getRequestedId(),
-                userBuddy.getStatus(),
-                userBuddy.getRequestedAt(),
-                userBuddy.getRespondedAt()
-            );
-            
-            // 生成されたIDを取得
-            String idSql = "SELECT SCOPE_IDENTITY()";
-            Long id = jdbcTemplate.queryForObject(idSql, Long.class);
-            userBuddy.setBuddyId(id);
-        } else {
-            // 更新
-            String sql = "UPDATE user_buddies SET status = ?, responded_at = ? WHERE buddy_id = ?";
-            jdbcTemplate.update(sql,
-                userBuddy.getStatus(),
-                userBuddy.getRespondedAt(),
-                userBuddy.getBuddyId()
-            );
+            return insert(userBuddy);
         }
+        update(userBuddy);
+        return userBuddy;
+    }
+    
+    /**
+     * バディ関係を新規登録
+     * 
+     * <p>採番されたバディIDは OUTPUT INSERTED で同じ文の結果として受け取ります。</p>
+     */
+    public UserBuddy insert(UserBuddy userBuddy) {
+        String sql = "INSERT INTO user_buddies (requester_id, requested_id, status, requested_at, responded_at) " +
+                    "OUTPUT INSERTED.buddy_id VALUES (?, ?, ?, ?, ?)";
+        Long id = jdbcTemplate.queryForObject(sql, Long.class,
+            userBuddy.getRequesterId(),
+            userBuddy.getRequestedId(),
+            userBuddy.getStatus(),
+            userBuddy.getRequestedAt(),
+            userBuddy.getRespondedAt()
+        );
+        userBuddy.setBuddyId(id);
         return userBuddy;
     }
     
+    /**
+     * バディ関係のステータスを更新
+     * 
+     * @return 更新件数
+     */
+    public int update(UserBuddy userBuddy) {
+        return jdbcTemplate.update(UPDATE_SQL,
+            userBuddy.getStatus(),
+            userBuddy.getRespondedAt(),
+            userBuddy.getBuddyId()
+        );
+    }
+    
+    /**
+     * バディ関係をまとめて保存
+     * 
+     * <p>既存のバディ関係はJDBCバッチで更新し、新規のバディ関係は {@link #insertAllReturningIds} でまとめて登録します。</p>
+     */
+    public List<UserBuddy> saveAll(List<UserBuddy> userBuddies) {
+        List<UserBuddy> updates = userBuddies.stream().filter(b -> b.getBuddyId() != null).toList();
+        if (!updates.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPDATE_SQL, updates, updates.size(), (ps, userBuddy) -> {
+                ps.setString(1, userBuddy.getStatus());
+                ps.setObject(2, userBuddy.getRespondedAt());
+                ps.setLong(3, userBuddy.getBuddyId());
+            });
+        }
+        insertAllReturningIds(userBuddies.stream().filter(b -> b.getBuddyId() == null).toList());
+        return userBuddies;
+    }
+    
+    /**
+     * バディ関係を複数行のMERGE文でまとめて新規登録し、採番されたバディIDを設定
+     * 
+     * <p>OUTPUT INSERTED の出力順は VALUES の順と一致しないため、行番号を一緒に出力して対応付けます。</p>
+     */
+    private void insertAllReturningIds(List<UserBuddy> userBuddies) {
+        int chunkSize = MAX_PARAMETERS / 6;
+        for (int from = 0; from < userBuddies.size(); from += chunkSize) {
+            List<UserBuddy> chunk = userBuddies.subList(from, Math.min(from + chunkSize, userBuddies.size()));
+            StringBuilder sql = new StringBuilder("MERGE INTO user_buddies AS t USING (VALUES ");
+            List<Object> params = new ArrayList<>(chunk.size() * 6);
+            for (int i = 0; i < chunk.size(); i++) {
+                UserBuddy userBuddy = chunk.get(i);
+                sql.append(i > 0 ? ", " : "").append("(?, ?, ?, ?, ?, ?)");
+                params.add(i);
+                params.add(userBuddy.getRequesterId());
+                params.add(userBuddy.getRequestedId());
+                params.add(userBuddy.getStatus());
+                params.add(userBuddy.getRequestedAt());
+                params.add(userBuddy.getRespondedAt());
+            }
+            sql.append(") AS s (row_no, requester_id, requested_id, status, requested_at, responded_at) ")
+               .append("ON 1 = 0 ")
+               .append("WHEN NOT MATCHED THEN INSERT (requester_id, requested_id, status, requested_at, responded_at) ")
+               .append("VALUES (s.requester_id, s.requested_id, s.status, s.requested_at, s.responded_at) ")
+               .append("OUTPUT s.row_no, INSERTED.buddy_id;");
+            jdbcTemplate.query(sql.toString(), rs -> {
+                chunk.get(rs.getInt("row_no")).setBuddyId(rs.getLong("buddy_id"));
+            }, params.toArray());
+        }
+    }
+    
     /**
      * バディ関係を削除
      */
@@ -9,6 +9,7 @@ import org.springframework.stereotype.Repository;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
@@ -18,6 +19,11 @@ import java.util.Optional;
 @Repository
 public class UserGoalRepository {
     
+    /** 1文あたりのパラメータ数の上限（SQL Serverの上限2100未満） */
+    private static final int MAX_PARAMETERS = 2000;
+    
+    private static final String UPDATE_SQL = "UPDATE user_goals SET goal_duration = ?, weekly_frequency = ?, exercise_type = ?, session_time_minutes = ?, updated_at = ?, is_active = ? WHERE goal_id = ?";
+    
     @Autowired
     private JdbcTemplate jdbcTemplate;
     
@@ -77,36 +83,105 @@ public class UserGoalRepository {
      */
     public UserGoal save(UserGoal goal) {
         if (goal.getGoalId() == null) {
-            // 新規作成
-            String sql = "INSERT INTO user_goals (user_id, goal_duration, weekly_frequency, exercise_type, session_time_minutes, created_at, updated_at, is_active) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
-            jdbcTemplate.update(sql, 
-                goal.getUserId(),
-                goal.getGoalDuration(),
-                goal.getWeeklyFrequency(),
-                goal.getExerciseType(),
-                goal.getSessionTimeMinutes(),
-                goal.getCreatedAt(),
-                goal.getUpdatedAt(),
-                goal.getIsActive()
-            );
-            
-            // 生成されたIDを取得
-            String idSql = "SELECT SCOPE_IDENTITY()";
-            Long id = jdbcTemplate.queryForObject(idSql, Long.class);
-            goal.setGoalId(id);
-        } else {
-            // 更新
-            String sql = "UPDATE user_goals SET goal_duration = ?, weekly_frequency = ?, exercise_type = ?, session_time_minutes = ?, updated_at = ?, is_active = ? WHERE goal_id = ?";
-            jdbcTemplate.update(sql,
-                goal.getGoalDuration(),
-                goal.getWeeklyFrequency(),
-                goal.getExerciseType(),
-                goal.getSessionTimeMinutes(),
-                goal.getUpdatedAt(),
-                goal.getIsActive(),
-                goal.getGoalId()
-            );
+            return insert(goal);
         }
+        update(goal);
         return goal;
     }
+    
+    /**
+     * 目標を新規登録
+     * 
+     * <p>採番された目標IDは OUTPUT INSERTED で同じ文の結果として受け取ります。</p>
+     */
+    public UserGoal insert(UserGoal goal) {
+        String sql = "INSERT INTO user_goals (user_id, goal_duration, weekly_frequency, exercise_type, session_time_minutes, created_at, updated_at, is_active) " +
+                    "OUTPUT INSERTED.goal_id VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+        Long id = jdbcTemplate.queryForObject(sql, Long.class,
+            goal.getUserId(),
+            goal.getGoalDuration(),
+            goal.getWeeklyFrequency(),
+            goal.getExerciseType(),
+            goal.getSessionTimeMinutes(),
+            goal.getCreatedAt(),
+            goal.getUpdatedAt(),
+            goal.getIsActive()
+        );
+        goal.setGoalId(id);
+        return goal;
+    }
+    
+    /**
+     * 目標を更新
+     * 
+     * @return 更新件数
+     */
+    public int update(UserGoal goal) {
+        return jdbcTemplate.update(UPDATE_SQL,
+            goal.getGoalDuration(),
+            goal.getWeeklyFrequency(),
+            goal.getExerciseType(),
+            goal.getSessionTimeMinutes(),
+            goal.getUpdatedAt(),
+            goal.getIsActive(),
+            goal.getGoalId()
+        );
+    }
+    
+    /**
+     * 目標をまとめて保存
+     * 
+     * <p>既存の目標はJDBCバッチで更新し、新規の目標は {@link #insertAllReturningIds} でまとめて登録します。</p>
+     */
+    public List<UserGoal> saveAll(List<UserGoal> goals) {
+        List<UserGoal> updates = goals.stream().filter(g -> g.getGoalId() != null).toList();
+        if (!updates.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPDATE_SQL, updates, updates.size(), (ps, goal) -> {
+                ps.setObject(1, goal.getGoalDuration());
+                ps.setObject(2, goal.getWeeklyFrequency());
+                ps.setString(3, goal.getExerciseType());
+                ps.setObject(4, goal.getSessionTimeMinutes());
+                ps.setObject(5, goal.getUpdatedAt());
+                ps.setObject(6, goal.getIsActive());
+                ps.setLong(7, goal.getGoalId());
+            });
+        }
+        insertAllReturningIds(goals.stream().filter(g -> g.getGoalId() == null).toList());
+        return goals;
+    }
+    
+    /**
+     * 目標を複数行のMERGE文でまとめて新規登録し、採番された目標IDを設定
+     * 
+     * <p>OUTPUT INSERTED の出力順は VALUES の順と一致しないため、行番号を一緒に出力して対応付けます。</p>
+     */
+    private void insertAllReturningIds(List<UserGoal> goals) {
+        int chunkSize = MAX_PARAMETERS / 9;
+        for (int from = 0; from < goals.size(); from += chunkSize) {
+            List<UserGoal> chunk = goals.subList(from, Math.min(from + chunkSize, goals.size()));
+            StringBuilder sql = new StringBuilder("MERGE INTO user_goals AS t USING (VALUES ");
+            List<Object> params = new ArrayList<>(chunk.size() * 9);
+            for (int i = 0; i < chunk.size(); i++) {
+                UserGoal goal = chunk.get(i);
+                sql.append(i > 0 ? ", " : "").append("(?, ?, ?, ?, ?, ?, ?, ?, ?)");
+                params.add(i);
+                params.add(goal.getUserId());
+                params.add(goal.getGoalDuration());
+                params.add(goal.getWeeklyFrequency());
+                params.add(goal.getExerciseType());
+                params.add(goal.getSessionTimeMinutes());
+                params.add(goal.getCreatedAt());
+                params.add(goal.getUpdatedAt());
+                params.add(goal.getIsActive());
+            }
+            sql.append(") AS s (row_no, user_id, goal_duration, weekly_frequency, exercise_type, session_time_minutes, created_at, updated_at, is_active) ")
+               .append("ON 1 = 0 ")
+               .append("WHEN NOT MATCHED THEN INSERT (user_id, goal_duration, weekly_frequency, exercise_type, session_time_minutes, created_at, updated_at, is_active) ")
+               .append("VALUES (s.user_id, s.goal_duration, s.weekly_frequency, s.exercise_type, s.session_time_minutes, s.created_at, s.updated_at, s.is_active) ")
+               .append("OUTPUT s.row_no, INSERTED.goal_id;");
+            jdbcTemplate.query(sql.toString(), rs -> {
+                chunk.get(rs.getInt("row_no")).setGoalId(rs.getLong("goal_id"));
+            }, params.toArray());
+        }
+    }
 } 
\ No newline at end of file
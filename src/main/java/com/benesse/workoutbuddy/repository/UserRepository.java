@@ -2,6 +2,7 @@ package com.benesse.workoutbuddy.repository;
 
 import com.benesse.workoutbuddy.entity.User;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.stereotype.Repository;
@@ -11,6 +12,11 @@ import java.sql.SQLException;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.BiConsumer;
+
+import javax.sql.DataSource;
+
+import jakarta.annotation.PostConstruct;
 
 /**
  * ユーザーリポジトリ（JdbcTemplate版）
@@ -18,9 +24,30 @@ import java.util.Optional;
 @Repository
 public class UserRepository {
     
+    private static final String INSERT_SQL = "INSERT INTO users (user_id, user_name, password_hash, created_at, updated_at, is_active) VALUES (?, ?, ?, ?, ?, ?)";
+    
     @Autowired
     private JdbcTemplate jdbcTemplate;
     
+    @Autowired
+    private DataSource dataSource;
+    
+    @Value("${app.export.fetch-size:500}")
+    private int streamFetchSize;
+    
+    /**
+     * 全件読み出し用JdbcTemplate（共通設定の最大行数を適用せず、フェッチサイズを指定）
+     */
+    private JdbcTemplate streamingJdbcTemplate;
+    
+    @PostConstruct
+    void initStreamingJdbcTemplate() {
+        streamingJdbcTemplate = new JdbcTemplate(dataSource);
+        streamingJdbcTemplate.setFetchSize(streamFetchSize);
+        streamingJdbcTemplate.setMaxRows(0);
+        streamingJdbcTemplate.setQueryTimeout(0);
+    }
+    
     private final RowMapper<User> userRowMapper = new RowMapper<User>() {
         @Override
         public User mapRow(ResultSet rs, int rowNum) throws SQLException {
@@ -61,6 +88,20 @@ public class UserRepository {
         return jdbcTemplate.query(sql, userRowMapper);
     }
     
+    /**
+     * アクティブなユーザーのユーザーIDとユーザー名を1件ずつ読み出す（検索インデックス構築用）
+     * 
+     * <p>全ユーザーを読み出すため、共通設定の最大行数を適用しません。</p>
+     * 
+     * @param consumer ユーザーIDとユーザー名の受け取り処理
+     */
+    public void streamActiveUserIdAndNames(BiConsumer<String, String> consumer) {
+        String sql = "SELECT user_id, user_name FROM users WHERE is_active = 1";
+        streamingJdbcTemplate.query(sql, rs -> {
+            consumer.accept(rs.getString("user_id"), rs.getString("user_name"));
+        });
+    }
+    
     /**
      * ユーザーIDの存在確認
      */
@@ -173,44 +214,17 @@ public class UserRepository {
     
     /**
      * ユーザーを保存
+     * 
+     * <p>まずUPDATEを実行し、更新件数が0件の場合のみINSERTします。
+     * 新規・更新が分かっている場合は {@link #insert(User)} / {@link #update(User)} を使用してください。</p>
      */
     public User save(User user) {
         System.out.println("=== UserRepository.save 開始 ===");
         System.out.println("ユーザーID: " + user.getUserId());
-        System.out.println("ユーザー名: " + user.getUserName());
         
         try {
-            // ユーザーが既に存在するかチェック
-            boolean exists = existsByUserId(user.getUserId());
-            System.out.println("ユーザー存在チェック: " + (exists ? "存在する" : "存在しない"));
-            
-            if (!exists) {
-                // 新規作成
-                System.out.println("=== 新規ユーザー作成 ===");
-                String sql = "INSERT INTO users (user_id, user_name, password_hash, created_at, updated_at, is_active) VALUES (?, ?, ?, ?, ?, ?)";
-                System.out.println("SQL: " + sql);
-                jdbcTemplate.update(sql,
-                    user.getUserId(),
-                    user.getUserName(),
-                    user.getPasswordHash(),
-                    user.getCreatedAt(),
-                    user.getUpdatedAt(),
-                    user.getIsActive()
-                );
-                System.out.println("=== 新規ユーザー作成完了 ===");
-            } else {
-                // 更新
-                System.out.println("=== ユーザー更新 ===");
-                String sql = "UPDATE users SET user_name = ?, password_hash = ?, updated_at = ?, is_active = ? WHERE user_id = ?";
-                System.out.println("SQL: " + sql);
-                jdbcTemplate.update(sql,
-                    user.getUserName(),
-                    user.getPasswordHash(),
-                    user.getUpdatedAt(),
-                    user.getIsActive(),
-                    user.getUserId()
-                );
-                System.out.println("=== ユーザー更新完了 ===");
+            if (update(user) == 0) {
+                insert(user);
             }
             System.out.println("=== UserRepository.save 完了 ===");
             return user;
@@ -222,6 +236,55 @@ public class UserRepository {
         }
     }
     
+    /**
+     * ユーザーを新規登録
+     */
+    public User insert(User user) {
+        jdbcTemplate.update(INSERT_SQL,
+            user.getUserId(),
+            user.getUserName(),
+            user.getPasswordHash(),
+            user.getCreatedAt(),
+            user.getUpdatedAt(),
+            user.getIsActive()
+        );
+        return user;
+    }
+    
+    /**
+     * ユーザーを更新
+     * 
+     * @return 更新件数
+     */
+    public int update(User user) {
+        String sql = "UPDATE users SET user_name = ?, password_hash = ?, updated_at = ?, is_active = ? WHERE user_id = ?";
+        return jdbcTemplate.update(sql,
+            user.getUserName(),
+            user.getPasswordHash(),
+            user.getUpdatedAt(),
+            user.getIsActive(),
+            user.getUserId()
+        );
+    }
+    
+    /**
+     * ユーザーをまとめて新規登録（JDBCバッチ）
+     */
+    public List<User> insertAll(List<User> users) {
+        if (users.isEmpty()) {
+            return users;
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, users, users.size(), (ps, user) -> {
+            ps.setString(1, user.getUserId());
+            ps.setString(2, user.getUserName());
+            ps.setString(3, user.getPasswordHash());
+            ps.setObject(4, user.getCreatedAt());
+            ps.setObject(5, user.getUpdatedAt());
+            ps.setObject(6, user.getIsActive());
+        });
+        return users;
+    }
+    
     /**
      * ユーザーIDでユーザーを取得
      */
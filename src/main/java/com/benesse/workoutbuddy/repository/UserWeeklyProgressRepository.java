@@ -0,0 +1,154 @@
+package com.benesse.workoutbuddy.repository;
+
+import com.benesse.workoutbuddy.entity.UserWeeklyProgress;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import javax.sql.DataSource;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * ユーザー週間進捗集計リポジトリ（JdbcTemplate版）
+ * 
+ * <p>user_weekly_progress は (user_id, week_start) を主キーとする集計テーブルです。
+ * 週間進捗の読み取りを運動記録の範囲スキャンではなく主キーシーク1回で行うために使用します。</p>
+ */
+@Repository
+public class UserWeeklyProgressRepository {
+    
+    /**
+     * workout_date からその週の月曜日を求めるSQL式（@@DATEFIRST の設定に依存しない）
+     */
+    private static final String WEEK_START_EXPRESSION =
+        "DATEADD(day, -((DATEPART(weekday, workout_date) + @@DATEFIRST + 5) % 7), workout_date)";
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    private DataSource dataSource;
+    
+    @Value("${app.export.fetch-size:500}")
+    private int streamFetchSize;
+    
+    /**
+     * 全件読み出し用JdbcTemplate（共通設定の最大行数を適用せず、フェッチサイズを指定）
+     */
+    private JdbcTemplate streamingJdbcTemplate;
+    
+    @PostConstruct
+    void initStreamingJdbcTemplate() {
+        streamingJdbcTemplate = new JdbcTemplate(dataSource);
+        streamingJdbcTemplate.setFetchSize(streamFetchSize);
+        streamingJdbcTemplate.setMaxRows(0);
+        streamingJdbcTemplate.setQueryTimeout(0);
+    }
+    
+    private final RowMapper<UserWeeklyProgress> userWeeklyProgressRowMapper = new RowMapper<UserWeeklyProgress>() {
+        @Override
+        public UserWeeklyProgress mapRow(ResultSet rs, int rowNum) throws SQLException {
+            UserWeeklyProgress progress = new UserWeeklyProgress();
+            progress.setUserId(rs.getString("user_id"));
+            progress.setWeekStart(rs.getObject("week_start", LocalDate.class));
+            progress.setDistinctDays(rs.getInt("distinct_days"));
+            progress.setTotalSeconds(rs.getInt("total_seconds"));
+            progress.setSessions(rs.getInt("sessions"));
+            progress.setLastWorkoutDate(rs.getObject("last_workout_date", LocalDate.class));
+            progress.setUpdatedAt(rs.getObject("updated_at", LocalDateTime.class));
+            return progress;
+        }
+    };
+    
+    /**
+     * ユーザーIDと週の開始日で集計を取得
+     */
+    public Optional<UserWeeklyProgress> findByUserIdAndWeekStart(String userId, LocalDate weekStart) {
+        String sql = "SELECT * FROM user_weekly_progress WHERE user_id = ? AND week_start = ?";
+        List<UserWeeklyProgress> rows = jdbcTemplate.query(sql, userWeeklyProgressRowMapper, userId, weekStart);
+        return rows.isEmpty() ? Optional.empty() : Optional.of(rows.get(0));
+    }
+    
+    /**
+     * 週の運動日数を取得（集計が無い場合は0）
+     */
+    public int findDistinctDays(String userId, LocalDate weekStart) {
+        String sql = "SELECT distinct_days FROM user_weekly_progress WHERE user_id = ? AND week_start = ?";
+        List<Integer> rows = jdbcTemplate.queryForList(sql, Integer.class, userId, weekStart);
+        return rows.isEmpty() ? 0 : rows.get(0);
+    }
+    
+    /**
+     * 完了した運動1件分を集計に加算
+     * 
+     * <p>1ユーザーが同時に進行できる運動は1件のため、運動は運動日の昇順に完了します。
+     * そのため運動日が last_workout_date より後の場合のみ運動日数を加算すれば重複排除になります。</p>
+     */
+    public void addCompletedWorkout(String userId, LocalDate weekStart, LocalDate workoutDate, int durationSeconds) {
+        String sql = "MERGE INTO user_weekly_progress WITH (HOLDLOCK) AS t " +
+                    "USING (SELECT ? AS user_id, ? AS week_start) AS s " +
+                    "ON t.user_id = s.user_id AND t.week_start = s.week_start " +
+                    "WHEN MATCHED THEN UPDATE SET " +
+                    "  distinct_days = t.distinct_days + CASE WHEN t.last_workout_date IS NULL OR t.last_workout_date < ? THEN 1 ELSE 0 END, " +
+                    "  total_seconds = t.total_seconds + ?, " +
+                    "  sessions = t.sessions + 1, " +
+                    "  last_workout_date = CASE WHEN t.last_workout_date IS NULL OR t.last_workout_date < ? THEN ? ELSE t.last_workout_date END, " +
+                    "  updated_at = GETDATE() " +
+                    "WHEN NOT MATCHED THEN INSERT (user_id, week_start, distinct_days, total_seconds, sessions, last_workout_date, updated_at) " +
+                    "  VALUES (s.user_id, s.week_start, 1, ?, 1, ?, GETDATE());";
+        jdbcTemplate.update(sql,
+            userId, weekStart,
+            workoutDate,
+            durationSeconds,
+            workoutDate, workoutDate,
+            durationSeconds, workoutDate
+        );
+    }
+    
+    /**
+     * 集計テーブルが空かどうかをチェック
+     */
+    public boolean isEmpty() {
+        String sql = "SELECT COUNT(*) FROM (SELECT TOP 1 user_id FROM user_weekly_progress) t";
+        int count = jdbcTemplate.queryForObject(sql, Integer.class);
+        return count == 0;
+    }
+    
+    /**
+     * 完了済み運動が存在するユーザーID一覧を取得
+     * 
+     * <p>全ユーザーを再構築の対象とするため、共通設定の最大行数を適用しません。</p>
+     */
+    public List<String> findUserIdsWithCompletedWorkouts() {
+        String sql = "SELECT DISTINCT user_id FROM workouts WHERE status = 'completed'";
+        return streamingJdbcTemplate.queryForList(sql, String.class);
+    }
+    
+    /**
+     * 指定ユーザーの集計を運動記録から再構築
+     * 
+     * <p>既存の集計を削除し、完了済みの運動記録から週ごとに集計し直します。</p>
+     * 
+     * @return 再構築した週の件数
+     */
+    public int rebuildByUserId(String userId) {
+        jdbcTemplate.update("DELETE FROM user_weekly_progress WHERE user_id = ?", userId);
+        
+        String sql = "INSERT INTO user_weekly_progress (user_id, week_start, distinct_days, total_seconds, sessions, last_workout_date, updated_at) " +
+                    "SELECT user_id, week_start, COUNT(DISTINCT workout_date), SUM(COALESCE(duration_seconds, 0)), COUNT(*), MAX(workout_date), GETDATE() " +
+                    "FROM (SELECT user_id, workout_date, duration_seconds, " + WEEK_START_EXPRESSION + " AS week_start " +
+                    "      FROM workouts WHERE user_id = ? AND status = 'completed') w " +
+                    "GROUP BY user_id, week_start";
+        return jdbcTemplate.update(sql, userId);
+    }
+}
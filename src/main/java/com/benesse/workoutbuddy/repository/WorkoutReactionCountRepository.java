@@ -0,0 +1,105 @@
+package com.benesse.workoutbuddy.repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 運動リアクション件数集計リポジトリ（JdbcTemplate版）
+ * 
+ * <p>workout_reaction_counts は運動・リアクション種別ごとの件数を保持する集計テーブルです。
+ * 件数はメモリ上で集約した差分をまとめて加算します。
+ * 元データは workout_reactions のため、いつでも再構築できます。</p>
+ */
+@Repository
+public class WorkoutReactionCountRepository {
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    /**
+     * 件数の差分をまとめて加算（JDBCバッチ）
+     * 
+     * @param deltas 要素は {workoutId, reactionType, delta}
+     */
+    public void addDeltas(List<Object[]> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        String sql = "MERGE INTO workout_reaction_counts WITH (HOLDLOCK) AS t " +
+                    "USING (SELECT ? AS workout_id, ? AS reaction_type, ? AS delta) AS s " +
+                    "ON t.workout_id = s.workout_id AND t.reaction_type = s.reaction_type " +
+                    "WHEN MATCHED THEN UPDATE SET reaction_count = t.reaction_count + s.delta, updated_at = SYSDATETIME() " +
+                    "WHEN NOT MATCHED THEN INSERT (workout_id, reaction_type, reaction_count, updated_at) " +
+                    "  VALUES (s.workout_id, s.reaction_type, s.delta, SYSDATETIME());";
+        jdbcTemplate.batchUpdate(sql, deltas);
+    }
+    
+    /**
+     * 運動IDでリアクション種別ごとの件数を取得
+     */
+    public Map<String, Integer> findByWorkoutId(String workoutId) {
+        String sql = "SELECT reaction_type, reaction_count FROM workout_reaction_counts WHERE workout_id = ?";
+        Map<String, Integer> counts = new HashMap<>();
+        jdbcTemplate.query(sql, rs -> {
+            counts.put(rs.getString("reaction_type"), rs.getInt("reaction_count"));
+        }, workoutId);
+        return counts;
+    }
+    
+    /**
+     * 複数の運動のリアクション種別ごとの件数をまとめて取得
+     */
+    public Map<String, Map<String, Integer>> findByWorkoutIds(List<String> workoutIds) {
+        if (workoutIds.isEmpty()) {
+            return new HashMap<>();
+        }
+        String placeholders = String.join(",", Collections.nCopies(workoutIds.size(), "?"));
+        String sql = "SELECT workout_id, reaction_type, reaction_count FROM workout_reaction_counts " +
+                    "WHERE workout_id IN (" + placeholders + ")";
+        Map<String, Map<String, Integer>> counts = new HashMap<>();
+        jdbcTemplate.query(sql, rs -> {
+            counts.computeIfAbsent(rs.getString("workout_id"), k -> new HashMap<>())
+                .put(rs.getString("reaction_type"), rs.getInt("reaction_count"));
+        }, workoutIds.toArray());
+        return counts;
+    }
+    
+    /**
+     * 集計テーブルが空かどうかをチェック
+     */
+    public boolean isEmpty() {
+        String sql = "SELECT COUNT(*) FROM (SELECT TOP 1 workout_id FROM workout_reaction_counts) t";
+        Integer count = jdbcTemplate.queryForObject(sql, Integer.class);
+        return count == null || count == 0;
+    }
+    
+    /**
+     * リアクションが1件以上あるかどうかをチェック
+     */
+    public boolean hasReactions() {
+        String sql = "SELECT COUNT(*) FROM (SELECT TOP 1 workout_id FROM workout_reactions) t";
+        Integer count = jdbcTemplate.queryForObject(sql, Integer.class);
+        return count != null && count > 0;
+    }
+    
+    /**
+     * 集計テーブルを workout_reactions から再構築
+     * 
+     * <p>トランザクション内で呼び出してください。</p>
+     * 
+     * @return 再構築した行数
+     */
+    public int rebuildAll() {
+        jdbcTemplate.update("DELETE FROM workout_reaction_counts");
+        String sql = "INSERT INTO workout_reaction_counts (workout_id, reaction_type, reaction_count, updated_at) " +
+                    "SELECT workout_id, reaction_type, COUNT(*), SYSDATETIME() FROM workout_reactions " +
+                    "GROUP BY workout_id, reaction_type";
+        return jdbcTemplate.update(sql);
+    }
+}
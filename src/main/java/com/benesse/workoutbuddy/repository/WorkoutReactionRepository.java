@@ -0,0 +1,96 @@
+package com.benesse.workoutbuddy.repository;
+
+import com.benesse.workoutbuddy.entity.WorkoutReaction;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 運動リアクションリポジトリ（JdbcTemplate版）
+ * 
+ * <p>リアクションは1件1行で登録するため、同じ運動へのリアクションが集中しても
+ * 特定の行の更新待ちは発生しません。</p>
+ */
+@Repository
+public class WorkoutReactionRepository {
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    /**
+     * リアクションを登録（同じユーザー・同じ種別のリアクションが既にあれば何もしない）
+     * 
+     * @return 新規に登録した場合はtrue
+     */
+    public boolean insertIfAbsent(WorkoutReaction reaction) {
+        String sql = "INSERT INTO workout_reactions (workout_id, user_id, reaction_type, created_at) " +
+                    "SELECT ?, ?, ?, ? " +
+                    "WHERE NOT EXISTS (SELECT 1 FROM workout_reactions WITH (UPDLOCK, HOLDLOCK) " +
+                    "WHERE workout_id = ? AND user_id = ? AND reaction_type = ?)";
+        try {
+            int inserted = jdbcTemplate.update(sql,
+                reaction.getWorkoutId(),
+                reaction.getUserId(),
+                reaction.getReactionType(),
+                reaction.getCreatedAt(),
+                reaction.getWorkoutId(),
+                reaction.getUserId(),
+                reaction.getReactionType()
+            );
+            return inserted > 0;
+        } catch (DuplicateKeyException e) {
+            // 一意インデックスで同時登録を検出した場合も登録済みとして扱う
+            return false;
+        }
+    }
+    
+    /**
+     * 運動IDでリアクション種別ごとの件数を取得
+     * 
+     * @return リアクション種別ごとの件数（0件の種別は含まない）
+     */
+    public Map<String, Integer> countByWorkoutId(String workoutId) {
+        String sql = "SELECT reaction_type, COUNT(*) AS reaction_count FROM workout_reactions " +
+                    "WHERE workout_id = ? GROUP BY reaction_type";
+        Map<String, Integer> counts = new HashMap<>();
+        jdbcTemplate.query(sql, rs -> {
+            counts.put(rs.getString("reaction_type"), rs.getInt("reaction_count"));
+        }, workoutId);
+        return counts;
+    }
+    
+    /**
+     * 複数の運動のリアクション種別ごとの件数をまとめて取得
+     * 
+     * @return 運動IDごとのリアクション種別ごとの件数（リアクションが無い運動は含まない）
+     */
+    public Map<String, Map<String, Integer>> countByWorkoutIds(List<String> workoutIds) {
+        if (workoutIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        String placeholders = String.join(",", Collections.nCopies(workoutIds.size(), "?"));
+        String sql = "SELECT workout_id, reaction_type, COUNT(*) AS reaction_count FROM workout_reactions " +
+                    "WHERE workout_id IN (" + placeholders + ") GROUP BY workout_id, reaction_type";
+        Map<String, Map<String, Integer>> counts = new HashMap<>();
+        jdbcTemplate.query(sql, rs -> {
+            counts.computeIfAbsent(rs.getString("workout_id"), k -> new HashMap<>())
+                .put(rs.getString("reaction_type"), rs.getInt("reaction_count"));
+        }, workoutIds.toArray());
+        return counts;
+    }
+    
+    /**
+     * ユーザーが指定の運動にリアクション済みかどうか
+     */
+    public boolean exists(String workoutId, String userId, String reactionType) {
+        String sql = "SELECT COUNT(*) FROM workout_reactions WHERE workout_id = ? AND user_id = ? AND reaction_type = ?";
+        int count = jdbcTemplate.queryForObject(sql, Integer.class, workoutId, userId, reactionType);
+        return count > 0;
+    }
+}
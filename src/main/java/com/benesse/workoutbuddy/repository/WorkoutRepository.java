@@ -2,6 +2,7 @@ package com.benesse.workoutbuddy.repository;
 
 import com.benesse.workoutbuddy.entity.Workout;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.stereotype.Repository;
@@ -10,8 +11,14 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
+
+import javax.sql.DataSource;
+
+import jakarta.annotation.PostConstruct;
 
 /**
  * 運動記録リポジトリクラス
@@ -35,15 +42,42 @@ import java.util.Optional;
 @Repository
 public class WorkoutRepository {
     
+    /** 記録一覧で使用するカラム（idx_workouts_user_records でカバーされる） */
+    private static final String RECORD_COLUMNS = "workout_id, user_id, workout_date, start_time, end_time, duration_seconds, exercise_type, comment, status, created_at";
+    
+    private static final String INSERT_SQL = "INSERT INTO workouts (workout_id, user_id, workout_date, start_time, end_time, duration_seconds, exercise_type, comment, status, created_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    
     @Autowired
     private JdbcTemplate jdbcTemplate;
     
+    @Autowired
+    private DataSource dataSource;
+    
+    @Value("${app.export.fetch-size:500}")
+    private int exportFetchSize;
+    
+    /**
+     * エクスポート用JdbcTemplate
+     * 
+     * <p>全件を順に読み出すため、共通設定の最大行数（spring.jdbc.template.max-rows）と
+     * クエリタイムアウトを適用せず、フェッチサイズを指定します。</p>
+     */
+    private JdbcTemplate streamingJdbcTemplate;
+    
+    @PostConstruct
+    void initStreamingJdbcTemplate() {
+        streamingJdbcTemplate = new JdbcTemplate(dataSource);
+        streamingJdbcTemplate.setFetchSize(exportFetchSize);
+        streamingJdbcTemplate.setMaxRows(0);
+        streamingJdbcTemplate.setQueryTimeout(0);
+    }
+    
     /**
      * WorkoutエンティティのRowMapper
      * 
      * <p>データベースの結果セットをWorkoutエンティティにマッピングします。</p>
      */
-    private final RowMapper<Workout> workoutRowMapper = new RowMapper<Workout>() {
+    final RowMapper<Workout> workoutRowMapper = new RowMapper<Workout>() {
         @Override
         public Workout mapRow(ResultSet rs, int rowNum) throws SQLException {
             Workout workout = new Workout();
@@ -62,16 +96,96 @@ public class WorkoutRepository {
     };
     
     /**
-     * ユーザーIDで運動記録を取得（運動日降順）
+     * ユーザーの運動記録を1ページ分取得（キーセットページング）
      * 
-     * <p>指定されたユーザーの全ての運動記録を運動日の降順で取得します。</p>
+     * <p>運動日・開始時刻・運動IDの降順で、カーソル位置より後ろの記録を最大 {@code limit} 件取得します。
+     * idx_workouts_user_records のシーク1回で読み出せるため、記録件数に関わらず一定のコストです。</p>
      * 
      * @param userId ユーザーID
-     * @return 運動記録のリスト（運動日降順）
+     * @param exerciseType 運動種別で絞り込む場合に指定（不要ならnull）
+     * @param fromDate 運動日の下限（含む、不要ならnull）
+     * @param toDate 運動日の上限（含む、不要ならnull）
+     * @param beforeDate 前ページ最終行の運動日（先頭ページはnull）
+     * @param beforeStartTime 前ページ最終行の開始時刻（先頭ページはnull）
+     * @param beforeWorkoutId 前ページ最終行の運動ID（先頭ページはnull）
+     * @param limit 取得件数
+     * @return 運動記録のリスト（運動日・開始時刻の降順）
      */
-    public List<Workout> findByUserIdOrderByWorkoutDateDesc(String userId) {
-        String sql = "SELECT * FROM workouts WHERE user_id = ? ORDER BY workout_date DESC";
-        return jdbcTemplate.query(sql, workoutRowMapper, userId);
+    public List<Workout> findPageByUserId(String userId, String exerciseType, LocalDate fromDate, LocalDate toDate,
+                                          LocalDate beforeDate, LocalDateTime beforeStartTime, String beforeWorkoutId,
+                                          int limit) {
+        StringBuilder sql = new StringBuilder("SELECT TOP (?) " + RECORD_COLUMNS + " FROM workouts WHERE user_id = ? ");
+        List<Object> params = new ArrayList<>();
+        params.add(limit);
+        params.add(userId);
+        if (exerciseType != null) {
+            sql.append("AND exercise_type = ? ");
+            params.add(exerciseType);
+        }
+        if (fromDate != null) {
+            sql.append("AND workout_date >= ? ");
+            params.add(fromDate);
+        }
+        if (toDate != null) {
+            sql.append("AND workout_date <= ? ");
+            params.add(toDate);
+        }
+        if (beforeDate != null && beforeStartTime != null && beforeWorkoutId != null) {
+            sql.append("AND (workout_date < ? ")
+               .append("OR (workout_date = ? AND start_time < ?) ")
+               .append("OR (workout_date = ? AND start_time = ? AND workout_id < ?)) ");
+            params.add(beforeDate);
+            params.add(beforeDate);
+            params.add(beforeStartTime);
+            params.add(beforeDate);
+            params.add(beforeStartTime);
+            params.add(beforeWorkoutId);
+        }
+        sql.append("ORDER BY workout_date DESC, start_time DESC, workout_id DESC");
+        return jdbcTemplate.query(sql.toString(), workoutRowMapper, params.toArray());
+    }
+    
+    /**
+     * ユーザーの運動記録を1件ずつ読み出す（エクスポート用）
+     * 
+     * <p>前方向のみのカーソルで読み出し、1行ごとに {@code consumer} へ渡します。
+     * 件数に関わらずメモリ使用量は一定です。</p>
+     * 
+     * @param userId ユーザーID
+     * @param consumer 運動記録の受け取り処理
+     */
+    public void streamByUserId(String userId, Consumer<Workout> consumer) {
+        String sql = "SELECT * FROM workouts WHERE user_id = ? ORDER BY workout_date, start_time";
+        streamingJdbcTemplate.query(sql, rs -> {
+            consumer.accept(workoutRowMapper.mapRow(rs, 0));
+        }, userId);
+    }
+    
+    /**
+     * 全ユーザーの運動記録を1件ずつ読み出す（管理者エクスポート用）
+     * 
+     * @param consumer 運動記録の受け取り処理
+     */
+    public void streamAll(Consumer<Workout> consumer) {
+        String sql = "SELECT * FROM workouts ORDER BY user_id, workout_date, start_time";
+        streamingJdbcTemplate.query(sql, rs -> {
+            consumer.accept(workoutRowMapper.mapRow(rs, 0));
+        });
+    }
+    
+    /**
+     * 指定ステータスの運動記録を1件ずつ読み出す
+     * 
+     * <p>起動時に進行中の運動を読み込むために使用します。共通設定の最大行数を適用しません。</p>
+     * 
+     * @param status 運動ステータス
+     * @param consumer 運動記録の受け取り処理
+     */
+    public void streamByStatus(String status, Consumer<Workout> consumer) {
+        String sql = "SELECT * FROM workouts WHERE status = ?";
+        streamingJdbcTemplate.query(sql, rs -> {
+            consumer.accept(workoutRowMapper.mapRow(rs, 0));
+        }, status);
     }
     
     /**
@@ -89,9 +203,22 @@ public class WorkoutRepository {
         return jdbcTemplate.query(sql, workoutRowMapper, userId, startDate, endDate);
     }
     
+    /**
+     * ユーザーが記録した運動種別を取得（重複排除）
+     *
+     * <p>運動記録一覧の種別絞り込みの選択肢に使用されます。</p>
+     *
+     * @param userId ユーザーID
+     * @return 運動種別のリスト（種別名の昇順）
+     */
+    public List<String> findDistinctExerciseTypesByUserId(String userId) {
+        String sql = "SELECT DISTINCT exercise_type FROM workouts WHERE user_id = ? AND exercise_type IS NOT NULL ORDER BY exercise_type";
+        return jdbcTemplate.queryForList(sql, String.class, userId);
+    }
+
     /**
      * ユーザーIDと日付で運動記録を取得
-     * 
+     *
      * <p>指定された日付の運動記録を取得します。</p>
      * 
      * @param userId ユーザーID
@@ -133,6 +260,19 @@ public class WorkoutRepository {
         return workouts.isEmpty() ? Optional.empty() : Optional.of(workouts.get(0));
     }
     
+    /**
+     * 運動IDとステータスで運動記録の存在を確認
+     * 
+     * @param workoutId 運動ID
+     * @param status 運動ステータス
+     * @return 存在する場合はtrue
+     */
+    public boolean existsByWorkoutIdAndStatus(String workoutId, String status) {
+        String sql = "SELECT COUNT(*) FROM workouts WHERE workout_id = ? AND status = ?";
+        Integer count = jdbcTemplate.queryForObject(sql, Integer.class, workoutId, status);
+        return count != null && count > 0;
+    }
+    
     /**
      * 完了済みの運動記録を取得（運動日降順）
      * 
@@ -166,45 +306,86 @@ public class WorkoutRepository {
     /**
      * 運動記録を保存
      * 
-     * <p>運動記録をデータベースに保存します。
-     * 新規作成の場合はINSERT、既存レコードの場合はUPDATEを実行します。</p>
+     * <p>運動IDは呼び出し側で採番済みのため、まずUPDATEを実行し、
+     * 更新件数が0件の場合のみINSERTします。新規・更新が分かっている場合は
+     * {@link #insert(Workout)} / {@link #update(Workout)} を使用してください。</p>
      * 
      * @param workout 保存する運動記録
      * @return 保存された運動記録
      */
     public Workout save(Workout workout) {
-        // 既存の運動記録をチェック
-        Optional<Workout> existingWorkout = findById(workout.getWorkoutId());
-        
-        if (existingWorkout.isEmpty()) {
-            // 新規作成
-            String sql = "INSERT INTO workouts (workout_id, user_id, workout_date, start_time, end_time, duration_seconds, exercise_type, comment, status, created_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
-            jdbcTemplate.update(sql,
-                workout.getWorkoutId(),
-                workout.getUserId(),
-                workout.getWorkoutDate(),
-                workout.getStartTime(),
-                workout.getEndTime(),
-                workout.getDurationSeconds(),
-                workout.getExerciseType(),
-                workout.getComment(),
-                workout.getStatus(),
-                workout.getCreatedAt()
-            );
-        } else {
-            // 更新
-            String sql = "UPDATE workouts SET end_time = ?, duration_seconds = ?, comment = ?, status = ? WHERE workout_id = ?";
-            jdbcTemplate.update(sql,
-                workout.getEndTime(),
-                workout.getDurationSeconds(),
-                workout.getComment(),
-                workout.getStatus(),
-                workout.getWorkoutId()
-            );
+        if (update(workout) == 0) {
+            insert(workout);
         }
         return workout;
     }
     
+    /**
+     * 運動記録を新規登録
+     * 
+     * @param workout 登録する運動記録
+     * @return 登録された運動記録
+     */
+    public Workout insert(Workout workout) {
+        jdbcTemplate.update(INSERT_SQL,
+            workout.getWorkoutId(),
+            workout.getUserId(),
+            workout.getWorkoutDate(),
+            workout.getStartTime(),
+            workout.getEndTime(),
+            workout.getDurationSeconds(),
+            workout.getExerciseType(),
+            workout.getComment(),
+            workout.getStatus(),
+            workout.getCreatedAt()
+        );
+        return workout;
+    }
+    
+    /**
+     * 運動記録を更新
+     * 
+     * <p>終了時刻・運動時間・コメント・ステータスを更新します。</p>
+     * 
+     * @param workout 更新する運動記録
+     * @return 更新件数
+     */
+    public int update(Workout workout) {
+        String sql = "UPDATE workouts SET end_time = ?, duration_seconds = ?, comment = ?, status = ? WHERE workout_id = ?";
+        return jdbcTemplate.update(sql,
+            workout.getEndTime(),
+            workout.getDurationSeconds(),
+            workout.getComment(),
+            workout.getStatus(),
+            workout.getWorkoutId()
+        );
+    }
+    
+    /**
+     * 運動記録をまとめて新規登録（JDBCバッチ）
+     * 
+     * @param workouts 登録する運動記録
+     * @return 登録された運動記録
+     */
+    public List<Workout> insertAll(List<Workout> workouts) {
+        if (workouts.isEmpty()) {
+            return workouts;
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, workouts, workouts.size(), (ps, workout) -> {
+            ps.setString(1, workout.getWorkoutId());
+            ps.setString(2, workout.getUserId());
+            ps.setObject(3, workout.getWorkoutDate());
+            ps.setObject(4, workout.getStartTime());
+            ps.setObject(5, workout.getEndTime());
+            ps.setObject(6, workout.getDurationSeconds());
+            ps.setString(7, workout.getExerciseType());
+            ps.setString(8, workout.getComment());
+            ps.setString(9, workout.getStatus());
+            ps.setObject(10, workout.getCreatedAt());
+        });
+        return workouts;
+    }
+    
     /**
      * 運動記録をIDで取得
      * 
@@ -1,14 +1,22 @@
 package com.benesse.workoutbuddy.service;
 
+import com.benesse.workoutbuddy.cache.UserSearchIndex;
+import com.benesse.workoutbuddy.dto.BuddyWeeklyProgressDto;
 import com.benesse.workoutbuddy.dto.ProgressDto;
+import com.benesse.workoutbuddy.entity.OutboxEvent;
 import com.benesse.workoutbuddy.entity.User;
 import com.benesse.workoutbuddy.entity.UserBuddy;
+import com.benesse.workoutbuddy.event.BuddyRelationChangedEvent;
+import com.benesse.workoutbuddy.repository.OutboxEventRepository;
 import com.benesse.workoutbuddy.repository.UserRepository;
 import com.benesse.workoutbuddy.repository.UserBuddyRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.DayOfWeek;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -30,7 +38,16 @@ public class BuddyService {
     private WorkoutService workoutService;
     
     @Autowired
-    private NotificationService notificationService;
+    private UserService userService;
+    
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+    
+    @Autowired
+    private UserSearchIndex userSearchIndex;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
     
     /**
      * バディリクエスト送信
@@ -64,10 +81,11 @@ public class BuddyService {
         buddyRequest.setStatus("pending");
         buddyRequest.setRequestedAt(LocalDateTime.now());
         
-        userBuddyRepository.save(buddyRequest);
+        userBuddyRepository.insert(buddyRequest);
         
-        // 通知送信
-        notificationService.notifyBuddyRequest(requesterId, requestedId);
+        // 通知はアウトボックス経由で非同期に送信
+        outboxEventRepository.append(OutboxEvent.TYPE_BUDDY_REQUESTED, requestedId,
+            buddyPayload(requesterId, requestedId));
     }
     
     /**
@@ -85,10 +103,19 @@ public class BuddyService {
         buddyRequest.setStatus("accepted");
         buddyRequest.setRespondedAt(LocalDateTime.now());
         
-        userBuddyRepository.save(buddyRequest);
+        userBuddyRepository.update(buddyRequest);
+        eventPublisher.publishEvent(new BuddyRelationChangedEvent(buddyRequest.getRequesterId(), buddyRequest.getRequestedId()));
         
-        // 承認通知送信
-        notificationService.notifyBuddyAccepted(buddyRequest.getRequesterId(), buddyRequest.getRequestedId());
+        // 承認通知はアウトボックス経由で非同期に送信
+        outboxEventRepository.append(OutboxEvent.TYPE_BUDDY_ACCEPTED, String.valueOf(buddyId),
+            buddyPayload(buddyRequest.getRequesterId(), buddyRequest.getRequestedId()));
+    }
+    
+    /**
+     * バディ関連のアウトボックスイベントの内容（JSON）
+     */
+    private String buddyPayload(String requesterId, String requestedId) {
+        return String.format("{\"requesterId\":\"%s\",\"requestedId\":\"%s\"}", requesterId, requestedId);
     }
     
     /**
@@ -106,7 +133,7 @@ public class BuddyService {
         buddyRequest.setStatus("rejected");
         buddyRequest.setRespondedAt(LocalDateTime.now());
         
-        userBuddyRepository.save(buddyRequest);
+        userBuddyRepository.update(buddyRequest);
     }
     
     /**
@@ -133,18 +160,25 @@ public class BuddyService {
      */
     @Transactional(readOnly = true)
     public List<ProgressDto> getBuddyProgress(String userId) {
-        List<User> buddies = getBuddyList(userId);
+        // 今週の開始日計算
+        LocalDate weekStart = LocalDate.now().with(DayOfWeek.MONDAY);
         
-        return buddies.stream()
-            .map(buddy -> {
-                try {
-                    ProgressDto progress = workoutService.getWeeklyProgress(buddy.getUserId());
-                    progress.setUserName(buddy.getUserName());
-                    return progress;
-                } catch (Exception e) {
+        // バディ全員の名前・目標頻度・運動日数を1クエリで取得
+        List<BuddyWeeklyProgressDto> rows = userBuddyRepository.findBuddyWeeklyProgressByUserId(userId, weekStart);
+        
+        return rows.stream()
+            .map(row -> {
+                Integer targetFrequency = row.getWeeklyFrequency();
+                if (targetFrequency == null || targetFrequency <= 0) {
                     // 目標が設定されていない場合はデフォルト値を返す
-                    return new ProgressDto(0, 3, 0, "目標未設定", buddy.getUserName(), "未設定");
+                    ProgressDto progress = new ProgressDto(0, 3, 0, "目標未設定", row.getUserName(), "未設定");
+                    progress.setUserId(row.getUserId());
+                    return progress;
                 }
+                ProgressDto progress = workoutService.buildWeeklyProgress(row.getWorkoutDays(), targetFrequency);
+                progress.setUserId(row.getUserId());
+                progress.setUserName(row.getUserName());
+                return progress;
             })
             .collect(Collectors.toList());
     }
@@ -172,6 +206,7 @@ public class BuddyService {
             .orElseThrow(() -> new RuntimeException("バディ関係が見つかりません"));
         
         userBuddyRepository.delete(relationToRemove);
+        eventPublisher.publishEvent(new BuddyRelationChangedEvent(userId, buddyId));
     }
 
     // バディ一覧・保留リクエスト・ユーザー名・エラーをまとめて返すDTO
@@ -196,7 +231,7 @@ public class BuddyService {
         try {
             java.util.List<User> buddies = getBuddyList(userId);
             java.util.List<UserBuddy> pendingRequests = getPendingRequests(userId);
-            String userName = userRepository.findById(userId).map(User::getUserName).orElse("");
+            String userName = userService.getUserNameSafe(userId);
             return new BuddyListResult(buddies, pendingRequests, userName, null);
         } catch (RuntimeException e) {
             return new BuddyListResult(java.util.List.of(), java.util.List.of(), "", e.getMessage());
@@ -224,17 +259,11 @@ public class BuddyService {
         System.out.println("検索キーワード: " + searchTerm);
         
         try {
-            // デバッグ用：全ユーザーを確認
-            System.out.println("=== 全ユーザー確認 ===");
-            java.util.List<User> allUsers = userRepository.findAll();
-            
-            java.util.List<User> searchResults = userRepository.findByUserIdExact(searchTerm);
-            System.out.println("検索結果（自分を除く前）: " + searchResults.size() + "件");
-            
-            searchResults.removeIf(user -> user.getUserId().equals(userId));
-            System.out.println("検索結果（自分を除く後）: " + searchResults.size() + "件");
+            // ユーザーID・ユーザー名の前方一致／部分一致（インメモリのN-gramインデックス）
+            java.util.List<User> searchResults = userSearchIndex.search(searchTerm, userId);
+            System.out.println("検索結果: " + searchResults.size() + "件");
             
-            String userName = userRepository.findById(userId).map(User::getUserName).orElse("");
+            String userName = userService.getUserNameSafe(userId);
             System.out.println("=== BuddyService.searchBuddies 完了 ===");
             return new BuddySearchResult(searchResults, userName, null);
         } catch (RuntimeException e) {
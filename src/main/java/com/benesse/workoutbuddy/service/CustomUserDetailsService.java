@@ -2,13 +2,17 @@ package com.benesse.workoutbuddy.service;
 
 import com.benesse.workoutbuddy.entity.User;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
-import java.util.Collections;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
 
 @Service
 public class CustomUserDetailsService implements UserDetailsService {
@@ -16,19 +20,29 @@ public class CustomUserDetailsService implements UserDetailsService {
     @Autowired
     private UserService userService;
 
+    /** 管理者権限（ROLE_ADMIN）を付与するユーザーID */
+    @Value("${app.admin.user-ids:}")
+    private Set<String> adminUserIds;
+
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
         User user = userService.findByUserId(username)
                 .orElseThrow(() -> new UsernameNotFoundException("ユーザーが見つかりません: " + username));
 
-        return new org.springframework.security.core.userdetails.User(
+        List<GrantedAuthority> authorities = new ArrayList<>();
+        authorities.add(new SimpleGrantedAuthority("ROLE_USER"));
+        if (adminUserIds.contains(user.getUserId())) {
+            authorities.add(new SimpleGrantedAuthority("ROLE_ADMIN"));
+        }
+
+        // ユーザー名などのプロフィール項目をプリンシパルに保持
+        return new LoginUser(
                 user.getUserId(),
                 user.getPasswordHash(),
                 user.getIsActive(),
-                true, // accountNonExpired
-                true, // credentialsNonExpired
-                true, // accountNonLocked
-                Collections.singletonList(new SimpleGrantedAuthority("ROLE_USER"))
+                authorities,
+                user.getUserName(),
+                user.getCreatedAt()
         );
     }
-} 
\ No newline at end of file
+}
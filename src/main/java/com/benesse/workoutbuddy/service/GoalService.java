@@ -1,9 +1,12 @@
 package com.benesse.workoutbuddy.service;
 
+import com.benesse.workoutbuddy.cache.ActiveGoalCache;
 import com.benesse.workoutbuddy.dto.GoalDto;
 import com.benesse.workoutbuddy.entity.UserGoal;
+import com.benesse.workoutbuddy.event.GoalChangedEvent;
 import com.benesse.workoutbuddy.repository.UserGoalRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -21,6 +24,12 @@ public class GoalService {
     @Autowired
     private UserGoalRepository userGoalRepository;
     
+    @Autowired
+    private ActiveGoalCache activeGoalCache;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
     /**
      * 目標設定
      */
@@ -31,7 +40,7 @@ public class GoalService {
             UserGoal oldGoal = existingGoal.get();
             oldGoal.setIsActive(false);
             oldGoal.setUpdatedAt(LocalDateTime.now());
-            userGoalRepository.save(oldGoal);
+            userGoalRepository.update(oldGoal);
         }
         
         // 新しい目標を作成
@@ -45,7 +54,10 @@ public class GoalService {
         newGoal.setUpdatedAt(LocalDateTime.now());
         newGoal.setIsActive(true);
         
-        userGoalRepository.save(newGoal);
+        userGoalRepository.insert(newGoal);
+        activeGoalCache.put(userId, newGoal);
+        
+        eventPublisher.publishEvent(new GoalChangedEvent(userId));
     }
     
     /**
@@ -53,7 +65,7 @@ public class GoalService {
      */
     @Transactional(readOnly = true)
     public UserGoal getCurrentGoal(String userId) {
-        Optional<UserGoal> goal = userGoalRepository.findActiveGoalByUserId(userId);
+        Optional<UserGoal> goal = activeGoalCache.findActiveGoal(userId);
         return goal.orElse(null);
     }
     
@@ -70,7 +82,7 @@ public class GoalService {
      */
     @Transactional(readOnly = true)
     public boolean hasActiveGoal(String userId) {
-        return userGoalRepository.existsByUserIdAndIsActiveTrue(userId);
+        return activeGoalCache.findActiveGoal(userId).isPresent();
     }
     
     /**
@@ -82,7 +94,10 @@ public class GoalService {
             UserGoal goal = activeGoal.get();
             goal.setIsActive(false);
             goal.setUpdatedAt(LocalDateTime.now());
-            userGoalRepository.save(goal);
+            userGoalRepository.update(goal);
+            activeGoalCache.put(userId, null);
+            
+            eventPublisher.publishEvent(new GoalChangedEvent(userId));
         }
     }
 
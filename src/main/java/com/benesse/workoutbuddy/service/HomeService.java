@@ -0,0 +1,191 @@
+package com.benesse.workoutbuddy.service;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+
+import com.benesse.workoutbuddy.cache.HomeDashboardCache;
+import com.benesse.workoutbuddy.dto.ProgressDto;
+import com.benesse.workoutbuddy.jdbc.ReadWriteRoutingDataSource;
+
+/**
+ * ホーム画面サービス
+ * 
+ * <p>ユーザー名・週間進捗・バディ進捗・未読通知数はそれぞれ独立した読み取りのため、
+ * 並列取得モード（{@code app.home.parallel-load.enabled}）では同時に実行し、
+ * 画面の応答時間を各処理の合計ではなく最大値に抑えます。</p>
+ * 
+ * <p>リクエスト全体に期限（{@code app.home.load-timeout-millis}）を設け、
+ * 期限内に取得できなかった項目や失敗した項目は既定値で表示します
+ * （例：バディ進捗が間に合わない場合はバディカードなしで表示）。</p>
+ * 
+ * <p>全項目を取得できたデータは {@link HomeDashboardCache} に保持し、
+ * 内容が変わるまでの再読み込みではDBにアクセスしません。
+ * 既定値を含むデータは次回のアクセスで取得し直すためキャッシュしません。</p>
+ */
+@Service
+public class HomeService {
+    
+    @Autowired
+    private UserService userService;
+    
+    @Autowired
+    private WorkoutService workoutService;
+    
+    @Autowired
+    private BuddyService buddyService;
+    
+    @Autowired
+    private NotificationService notificationService;
+    
+    @Autowired
+    private HomeDashboardCache homeDashboardCache;
+    
+    @Autowired
+    @Qualifier("pageLoadExecutor")
+    private ExecutorService pageLoadExecutor;
+    
+    @Value("${app.home.parallel-load.enabled:true}")
+    private boolean parallelLoadEnabled;
+    
+    @Value("${app.home.load-timeout-millis:1000}")
+    private long loadTimeoutMillis;
+
+    public static class HomeData {
+        private final String userName;
+        private final ProgressDto progress;
+        private final List<ProgressDto> buddyProgress;
+        private final int unreadNotificationCount;
+        private final boolean complete;
+
+        public HomeData(String userName, ProgressDto progress, 
+                       List<ProgressDto> buddyProgress, int unreadNotificationCount) {
+            this(userName, progress, buddyProgress, unreadNotificationCount, true);
+        }
+
+        public HomeData(String userName, ProgressDto progress, 
+                       List<ProgressDto> buddyProgress, int unreadNotificationCount, boolean complete) {
+            this.userName = userName;
+            this.progress = progress;
+            this.buddyProgress = buddyProgress;
+            this.unreadNotificationCount = unreadNotificationCount;
+            this.complete = complete;
+        }
+
+        public String getUserName() { return userName; }
+        public ProgressDto getProgress() { return progress; }
+        public List<ProgressDto> getBuddyProgress() { return buddyProgress; }
+        public int getUnreadNotificationCount() { return unreadNotificationCount; }
+        /** 全項目を取得できた場合true（既定値を含む場合false） */
+        public boolean isComplete() { return complete; }
+    }
+
+    /**
+     * ホーム画面データを取得
+     * 
+     * @param userId ユーザーID
+     * @return ホーム画面データ（取得できなかった項目は既定値）
+     */
+    public HomeData getHomeData(String userId) {
+        HomeData[] loaded = new HomeData[1];
+        HomeData cached = homeDashboardCache.get(userId, id -> {
+            loaded[0] = loadHomeData(id);
+            return loaded[0].isComplete() ? loaded[0] : null;
+        });
+        return cached != null ? cached : loaded[0];
+    }
+    
+    /**
+     * ホーム画面データを読み込み
+     * 
+     * <p>キャッシュに保持するため、レプリカの反映遅延で古い値を保持しないようプライマリから読み込みます。</p>
+     */
+    private HomeData loadHomeData(String userId) {
+        AtomicBoolean complete = new AtomicBoolean(true);
+        if (!parallelLoadEnabled) {
+            return ReadWriteRoutingDataSource.readFromPrimary(() -> getHomeDataSequential(userId, complete));
+        }
+        
+        // 独立した読み取りを並列に開始
+        CompletableFuture<String> userName = supplyAsync(() -> userService.getUserNameSafe(userId));
+        CompletableFuture<ProgressDto> progress = supplyAsync(() -> workoutService.getWeeklyProgress(userId));
+        CompletableFuture<List<ProgressDto>> buddyProgress = supplyAsync(() -> buddyService.getBuddyProgress(userId));
+        CompletableFuture<Integer> unreadCount = supplyAsync(() -> notificationService.getUnreadCount(userId));
+        
+        // 全体の期限内で待ち合わせ、間に合わない項目は既定値
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(loadTimeoutMillis);
+        String userNameValue = await(userName, deadline, "", "userName", complete);
+        ProgressDto progressValue = await(progress, deadline, defaultProgress(), "progress", complete);
+        List<ProgressDto> buddyProgressValue = await(buddyProgress, deadline, List.of(), "buddyProgress", complete);
+        int unreadCountValue = await(unreadCount, deadline, 0, "unreadCount", complete);
+        return new HomeData(userNameValue, progressValue, buddyProgressValue, unreadCountValue, complete.get());
+    }
+    
+    /**
+     * ホーム画面データを順次取得（並列取得無効時）
+     */
+    private HomeData getHomeDataSequential(String userId, AtomicBoolean complete) {
+        String userName = getOrDefault(() -> userService.getUserNameSafe(userId), "", complete);
+        ProgressDto progress = getOrDefault(() -> workoutService.getWeeklyProgress(userId), defaultProgress(), complete);
+        List<ProgressDto> buddyProgress = getOrDefault(() -> buddyService.getBuddyProgress(userId), List.of(), complete);
+        int unreadCount = getOrDefault(() -> notificationService.getUnreadCount(userId), 0, complete);
+        return new HomeData(userName, progress, buddyProgress, unreadCount, complete.get());
+    }
+    
+    private <T> CompletableFuture<T> supplyAsync(Supplier<T> supplier) {
+        return CompletableFuture.supplyAsync(() -> ReadWriteRoutingDataSource.readFromPrimary(supplier), pageLoadExecutor);
+    }
+    
+    /**
+     * 期限まで結果を待ち、失敗・タイムアウト時は既定値を返す
+     * 
+     * <p>目標未設定などの業務例外による既定値は確定した表示内容として扱い、
+     * タイムアウトやDBエラーの場合のみ complete を false にします。</p>
+     */
+    private <T> T await(CompletableFuture<T> future, long deadline, T defaultValue, String part, AtomicBoolean complete) {
+        try {
+            long remaining = Math.max(0, deadline - System.nanoTime());
+            return future.get(remaining, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            complete.set(false);
+            System.err.println("ホーム画面データ取得タイムアウト: " + part);
+            return defaultValue;
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof DataAccessException) {
+                complete.set(false);
+            }
+            return defaultValue;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            complete.set(false);
+            return defaultValue;
+        }
+    }
+    
+    private <T> T getOrDefault(Supplier<T> supplier, T defaultValue, AtomicBoolean complete) {
+        try {
+            return supplier.get();
+        } catch (DataAccessException e) {
+            complete.set(false);
+            return defaultValue;
+        } catch (RuntimeException e) {
+            return defaultValue;
+        }
+    }
+    
+    private ProgressDto defaultProgress() {
+        return new ProgressDto(0, 3, 0, "目標を設定してください");
+    }
+}
@@ -0,0 +1,46 @@
+package com.benesse.workoutbuddy.service;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+import org.springframework.security.core.GrantedAuthority;
+
+/**
+ * ログインユーザー（認証済みプリンシパル）
+ * 
+ * <p>Spring Securityの標準ユーザー情報に加えて、画面表示に使うユーザー名などの
+ * プロフィール項目を保持します。画面ごとにユーザー名を取得するためのDBアクセスを不要にします。</p>
+ * 
+ * <p>ユーザー名が変更された場合は {@link com.benesse.workoutbuddy.util.SecurityUtil#refreshCurrentUser}
+ * で差し替えます。</p>
+ */
+public class LoginUser extends org.springframework.security.core.userdetails.User {
+    
+    private static final long serialVersionUID = 1L;
+    
+    private final String userName;
+    private final LocalDateTime createdAt;
+    
+    public LoginUser(String userId, String passwordHash, boolean enabled,
+                     Collection<? extends GrantedAuthority> authorities,
+                     String userName, LocalDateTime createdAt) {
+        super(userId, passwordHash, enabled, true, true, true, authorities);
+        this.userName = userName;
+        this.createdAt = createdAt;
+    }
+    
+    /**
+     * ユーザー名を変更したプリンシパルを作成
+     */
+    public LoginUser withUserName(String newUserName) {
+        return new LoginUser(getUsername(), getPassword() != null ? getPassword() : "", isEnabled(),
+                getAuthorities(), newUserName, createdAt);
+    }
+    
+    /** ユーザーID */
+    public String getUserId() { return getUsername(); }
+    /** ユーザー名（表示名） */
+    public String getUserName() { return userName; }
+    /** 登録日時 */
+    public LocalDateTime getCreatedAt() { return createdAt; }
+}
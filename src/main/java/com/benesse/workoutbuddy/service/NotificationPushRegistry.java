@@ -0,0 +1,199 @@
+package com.benesse.workoutbuddy.service;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.ExecutorService;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.benesse.workoutbuddy.cache.UnreadNotificationCounter;
+import com.benesse.workoutbuddy.event.NotificationCreatedEvent;
+import com.benesse.workoutbuddy.event.NotificationsReadEvent;
+
+/**
+ * 通知プッシュ購読者レジストリ
+ * 
+ * <p>ユーザーごとに、SSEで接続中のクライアントとロングポーリングで待機中のリクエストを保持します。
+ * 通知の作成・既読イベントをコミット後に受け取り、購読者がいる場合のみ未読数を配信します。
+ * 未読数は {@link UnreadNotificationCounter} から取得するため、配信時のDBアクセスは通常発生しません。</p>
+ * 
+ * <p>購読情報はこのアプリケーションインスタンス内のみで管理します。</p>
+ */
+@Component
+public class NotificationPushRegistry {
+    
+    /** SSEのイベント名 */
+    public static final String EVENT_NAME = "notification";
+    
+    @Autowired
+    private UnreadNotificationCounter unreadNotificationCounter;
+    
+    @Autowired
+    @Qualifier("notificationPushExecutor")
+    private ExecutorService notificationPushExecutor;
+    
+    @Value("${app.notification.push.sse-timeout-millis:1800000}")
+    private long sseTimeoutMillis;
+    
+    @Value("${app.notification.push.long-poll-timeout-millis:25000}")
+    private long longPollTimeoutMillis;
+    
+    @Value("${app.notification.push.max-connections-per-user:5}")
+    private int maxConnectionsPerUser;
+    
+    private final Map<String, Set<SseEmitter>> emitters = new ConcurrentHashMap<>();
+    private final Map<String, Set<DeferredResult<Map<String, Object>>>> waiters = new ConcurrentHashMap<>();
+    
+    /**
+     * SSEで購読を開始
+     * 
+     * <p>接続直後に現在の未読数を1回送信し、以降は通知の変化時のみ送信します。</p>
+     * 
+     * @param userId ユーザーID
+     * @return SSEエミッター
+     */
+    public SseEmitter subscribe(String userId) {
+        SseEmitter emitter = new SseEmitter(sseTimeoutMillis);
+        List<SseEmitter> evicted = new ArrayList<>();
+        // 追加と削除（removeEmitter）をユーザー単位でアトミックにし、削除済みの集合へ追加しないようにする
+        emitters.compute(userId, (id, userEmitters) -> {
+            Set<SseEmitter> set = userEmitters != null ? userEmitters : new CopyOnWriteArraySet<>();
+            // 上限を超えた場合は古い接続から閉じる
+            while (set.size() >= maxConnectionsPerUser) {
+                SseEmitter oldest = set.iterator().next();
+                set.remove(oldest);
+                evicted.add(oldest);
+            }
+            set.add(emitter);
+            return set;
+        });
+        evicted.forEach(SseEmitter::complete);
+        
+        Runnable remove = () -> removeEmitter(userId, emitter);
+        emitter.onCompletion(remove);
+        emitter.onTimeout(remove);
+        emitter.onError(e -> remove.run());
+        
+        send(userId, emitter, payload(unreadNotificationCounter.get(userId)));
+        return emitter;
+    }
+    
+    /**
+     * ロングポーリングで次の変化を待機
+     * 
+     * <p>タイムアウトまでに通知の変化が無い場合は hasNewNotifications=false を返します。</p>
+     * 
+     * @param userId ユーザーID
+     * @return 通知の変化時に完了する結果
+     */
+    public DeferredResult<Map<String, Object>> poll(String userId) {
+        DeferredResult<Map<String, Object>> result =
+            new DeferredResult<>(longPollTimeoutMillis, Map.of("hasNewNotifications", false));
+        waiters.compute(userId, (id, userWaiters) -> {
+            Set<DeferredResult<Map<String, Object>>> set = userWaiters != null ? userWaiters : ConcurrentHashMap.newKeySet();
+            set.add(result);
+            return set;
+        });
+        result.onCompletion(() -> waiters.computeIfPresent(userId, (id, set) -> {
+            set.remove(result);
+            return set.isEmpty() ? null : set;
+        }));
+        return result;
+    }
+    
+    /**
+     * 指定ユーザーの購読者数を取得
+     */
+    public int getSubscriberCount(String userId) {
+        Set<SseEmitter> userEmitters = emitters.get(userId);
+        Set<DeferredResult<Map<String, Object>>> userWaiters = waiters.get(userId);
+        return (userEmitters != null ? userEmitters.size() : 0) + (userWaiters != null ? userWaiters.size() : 0);
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onNotificationCreated(NotificationCreatedEvent event) {
+        publish(event.getToUserId());
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onNotificationsRead(NotificationsReadEvent event) {
+        publish(event.getUserId());
+    }
+    
+    /**
+     * 購読者へ最新の未読数を配信
+     */
+    public void publish(String userId) {
+        if (getSubscriberCount(userId) == 0) {
+            return;
+        }
+        notificationPushExecutor.execute(() -> {
+            try {
+                Map<String, Object> payload = payload(unreadNotificationCounter.get(userId));
+                Set<SseEmitter> userEmitters = emitters.get(userId);
+                if (userEmitters != null) {
+                    for (SseEmitter emitter : userEmitters) {
+                        send(userId, emitter, payload);
+                    }
+                }
+                Set<DeferredResult<Map<String, Object>>> userWaiters = waiters.get(userId);
+                if (userWaiters != null) {
+                    for (DeferredResult<Map<String, Object>> waiter : userWaiters) {
+                        waiter.setResult(payload);
+                    }
+                }
+            } catch (RuntimeException e) {
+                System.err.println("通知プッシュ配信エラー: " + e.getMessage());
+            }
+        });
+    }
+    
+    /**
+     * 接続維持のためのハートビート
+     * 
+     * <p>プロキシ等によるアイドル切断を防ぎ、切断済みの接続を検出して破棄します。</p>
+     */
+    @Scheduled(fixedDelayString = "${app.notification.push.heartbeat-millis:25000}")
+    public void heartbeat() {
+        emitters.forEach((userId, userEmitters) -> {
+            for (SseEmitter emitter : userEmitters) {
+                try {
+                    emitter.send(SseEmitter.event().comment("heartbeat"));
+                } catch (IOException | IllegalStateException e) {
+                    removeEmitter(userId, emitter);
+                }
+            }
+        });
+    }
+    
+    private void send(String userId, SseEmitter emitter, Map<String, Object> payload) {
+        try {
+            emitter.send(SseEmitter.event().name(EVENT_NAME).data(payload));
+        } catch (IOException | IllegalStateException e) {
+            removeEmitter(userId, emitter);
+        }
+    }
+    
+    private void removeEmitter(String userId, SseEmitter emitter) {
+        emitters.computeIfPresent(userId, (id, set) -> {
+            set.remove(emitter);
+            return set.isEmpty() ? null : set;
+        });
+    }
+    
+    private Map<String, Object> payload(int unreadCount) {
+        return Map.of("hasNewNotifications", unreadCount > 0, "count", unreadCount);
+    }
+}
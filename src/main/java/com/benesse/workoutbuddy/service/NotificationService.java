@@ -5,14 +5,23 @@ import java.util.List;
 import java.util.UUID;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import com.benesse.workoutbuddy.cache.UnreadNotificationCounter;
 import com.benesse.workoutbuddy.entity.Notification;
 import com.benesse.workoutbuddy.entity.User;
 import com.benesse.workoutbuddy.entity.Workout;
+import com.benesse.workoutbuddy.event.NotificationCreatedEvent;
+import com.benesse.workoutbuddy.event.NotificationsReadEvent;
 import com.benesse.workoutbuddy.repository.NotificationRepository;
+import com.benesse.workoutbuddy.repository.UserBuddyRepository;
 import com.benesse.workoutbuddy.repository.UserRepository;
+import com.benesse.workoutbuddy.util.NotificationUtil;
 
 /**
  * 通知サービス
@@ -27,6 +36,24 @@ public class NotificationService {
     @Autowired
     private UserRepository userRepository;
     
+    @Autowired
+    private UserBuddyRepository userBuddyRepository;
+    
+    @Autowired
+    private UnreadNotificationCounter unreadNotificationCounter;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    
+    @Value("${app.notification.page-size:20}")
+    private int pageSize;
+    
+    @Value("${app.notification.mark-all-chunk-size:1000}")
+    private int markAllChunkSize;
+    
     /**
      * ユーザーの通知一覧を取得
      */
@@ -35,6 +62,40 @@ public class NotificationService {
         return notificationRepository.findByToUserIdOrderByCreatedAtDesc(userId);
     }
     
+    /**
+     * ユーザーの通知を1ページ分取得（キーセットページング）
+     * 
+     * @param cursor 前ページの {@link NotificationPage#getNextCursor()}（先頭ページはnull）
+     * @param unreadOnly trueの場合は未読通知のみ
+     */
+    @Transactional(readOnly = true)
+    public NotificationPage getNotificationPage(String userId, String cursor, boolean unreadOnly) {
+        LocalDateTime beforeCreatedAt = null;
+        String beforeNotificationId = null;
+        if (cursor != null && !cursor.isBlank()) {
+            int separator = cursor.indexOf('_');
+            if (separator > 0) {
+                try {
+                    beforeCreatedAt = LocalDateTime.parse(cursor.substring(0, separator));
+                    beforeNotificationId = cursor.substring(separator + 1);
+                } catch (java.time.format.DateTimeParseException e) {
+                    // 不正なカーソルは先頭ページとして扱う
+                    beforeCreatedAt = null;
+                }
+            }
+        }
+        
+        // 1件多く取得して次ページの有無を判定
+        List<Notification> rows = notificationRepository.findPageByToUserId(
+                userId, beforeCreatedAt, beforeNotificationId, unreadOnly, pageSize + 1);
+        if (rows.size() <= pageSize) {
+            return new NotificationPage(rows, null);
+        }
+        List<Notification> items = rows.subList(0, pageSize);
+        Notification last = items.get(items.size() - 1);
+        return new NotificationPage(items, last.getCreatedAt() + "_" + last.getNotificationId());
+    }
+    
     /**
      * ユーザーの新しい通知を取得（未読）
      */
@@ -44,233 +105,280 @@ public class NotificationService {
     }
     
     /**
-     * 未読通知数を取得
+     * 未読通知数を取得（メモリ上のカウンターから取得）
      */
     @Transactional(readOnly = true)
     public int getUnreadCount(String userId) {
-        return notificationRepository.countUnreadNotifications(userId);
+        return unreadNotificationCounter.get(userId);
     }
     
     /**
      * 通知を既読にする
      */
     public void markAsRead(String notificationId, String userId) {
-        Notification notification = notificationRepository.findById(notificationId);
-        if (notification != null && notification.getToUserId().equals(userId)) {
-            notification.setIsRead(true);
-            notificationRepository.save(notification);
+        markAsRead(List.of(notificationId), userId);
+    }
+    
+    /**
+     * 複数の通知をまとめて既読にする
+     * 
+     * <p>本人宛てでない通知・既読の通知は更新されません（所有者の確認は更新文のWHERE句で行います）。</p>
+     * 
+     * @return 未読から既読にした件数
+     */
+    public int markAsRead(List<String> notificationIds, String userId) {
+        if (notificationIds.isEmpty()) {
+            return 0;
+        }
+        int updated = notificationRepository.markAsReadByIds(userId, notificationIds);
+        if (updated > 0) {
+            unreadNotificationCounter.decrement(userId, updated);
+            eventPublisher.publishEvent(new NotificationsReadEvent(userId));
+        }
+        return updated;
+    }
+    
+    /**
+     * 複数の通知をまとめて削除
+     * 
+     * <p>本人宛てでない通知は削除されません（所有者の確認は削除文のWHERE句で行います）。</p>
+     * 
+     * @return 削除した件数
+     */
+    public int deleteNotifications(List<String> notificationIds, String userId) {
+        if (notificationIds.isEmpty()) {
+            return 0;
+        }
+        List<Boolean> deleted = notificationRepository.deleteByIds(userId, notificationIds);
+        int unread = (int) deleted.stream().filter(isRead -> !Boolean.TRUE.equals(isRead)).count();
+        if (unread > 0) {
+            unreadNotificationCounter.decrement(userId, unread);
         }
+        if (!deleted.isEmpty()) {
+            eventPublisher.publishEvent(new NotificationsReadEvent(userId));
+        }
+        return deleted.size();
     }
     
     /**
      * 全通知を既読にする
+     * 
+     * <p>未読が多いユーザーでも長時間ロックを保持しないよう、{@code app.notification.mark-all-chunk-size} 件ずつ
+     * 別々のトランザクションで更新します。</p>
      */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public void markAllAsRead(String userId) {
-        notificationRepository.markAllAsRead(userId);
+        int updated;
+        do {
+            Integer count = transactionTemplate.execute(
+                status -> notificationRepository.markUnreadAsReadChunk(userId, markAllChunkSize));
+            updated = count != null ? count : 0;
+        } while (updated >= markAllChunkSize);
+        unreadNotificationCounter.reset(userId);
+        eventPublisher.publishEvent(new NotificationsReadEvent(userId));
     }
     
     /**
-     * バディの運動完了通知を作成
+     * 通知を新規登録し、通知作成イベントを発行
      */
-    public void createWorkoutCompletedNotification(Workout workout, String buddyUserId) {
-        try {
-            User workoutUser = userRepository.findByUserId(workout.getUserId()).orElse(null);
-            if (workoutUser == null) {
-                return;
-            }
-            
-            String notificationId = UUID.randomUUID().toString();
-            String title = workoutUser.getUserName() + "が運動完了!";
-            String message = "\"" + (workout.getComment() != null ? workout.getComment() : "頑張った!!") + "\"";
-            
-            // 関連データをJSON形式で保存
-            String relatedData = String.format(
-                "{\"workoutId\":\"%s\",\"workoutUserId\":\"%s\",\"liked\":false}",
-                workout.getWorkoutId(),
-                workout.getUserId()
-            );
-            
-            Notification notification = new Notification();
-            notification.setNotificationId(notificationId);
-            notification.setFromUserId(workout.getUserId());
-            notification.setToUserId(buddyUserId);
-            notification.setNotificationType("workout_completed");
-            notification.setTitle(title);
-            notification.setMessage(message);
-            notification.setRelatedData(relatedData);
-            notification.setIsRead(false);
-            notification.setCreatedAt(LocalDateTime.now());
-            
-            notificationRepository.save(notification);
-            
-        } catch (Exception e) {
-            // ログ出力（実際の実装では適切なログライブラリを使用）
-            System.err.println("通知作成エラー: " + e.getMessage());
-        }
+    private void saveNotification(Notification notification) {
+        notificationRepository.insert(notification);
+        eventPublisher.publishEvent(new NotificationCreatedEvent(notification));
+    }
+    
+    /**
+     * 運動完了通知を組み立て
+     */
+    Notification buildWorkoutCompletedNotification(Workout workout, User workoutUser, String buddyUserId, LocalDateTime createdAt) {
+        String notificationId = UUID.randomUUID().toString();
+        String title = workoutUser.getUserName() + "が運動完了!";
+        String message = "\"" + (workout.getComment() != null ? workout.getComment() : "頑張った!!") + "\"";
+        
+        // 関連データをJSON形式で保存
+        String relatedData = String.format(
+            "{\"workoutId\":\"%s\",\"workoutUserId\":\"%s\",\"liked\":false}",
+            workout.getWorkoutId(),
+            workout.getUserId()
+        );
+        
+        Notification notification = new Notification();
+        notification.setNotificationId(notificationId);
+        notification.setFromUserId(workout.getUserId());
+        notification.setToUserId(buddyUserId);
+        notification.setNotificationType("workout_completed");
+        notification.setTitle(title);
+        notification.setMessage(message);
+        notification.setRelatedData(relatedData);
+        notification.setIsRead(false);
+        notification.setCreatedAt(createdAt);
+        return notification;
     }
     
     /**
      * バディリクエスト通知を作成
+     * 
+     * <p>アウトボックス配信から呼び出されます。失敗時は例外を送出し、配信側で再試行します。</p>
      */
     public void createBuddyRequestNotification(String requesterId, String requestedId) {
-        try {
-            User requester = userRepository.findByUserId(requesterId).orElse(null);
-            if (requester == null) {
-                return;
-            }
-            
-            String notificationId = UUID.randomUUID().toString();
-            String title = "バディリクエスト";
-            String message = requester.getUserName() + "さんからバディリクエストが届きました";
-            
-            Notification notification = new Notification();
-            notification.setNotificationId(notificationId);
-            notification.setFromUserId(requesterId);
-            notification.setToUserId(requestedId);
-            notification.setNotificationType("buddy_request");
-            notification.setTitle(title);
-            notification.setMessage(message);
-            notification.setRelatedData("{\"requesterId\":\"" + requesterId + "\"}");
-            notification.setIsRead(false);
-            notification.setCreatedAt(LocalDateTime.now());
-            
-            notificationRepository.save(notification);
-            
-        } catch (Exception e) {
-            System.err.println("バディリクエスト通知作成エラー: " + e.getMessage());
+        User requester = userRepository.findByUserId(requesterId).orElse(null);
+        if (requester == null) {
+            return;
         }
+        
+        String notificationId = UUID.randomUUID().toString();
+        String title = "バディリクエスト";
+        String message = requester.getUserName() + "さんからバディリクエストが届きました";
+        
+        Notification notification = new Notification();
+        notification.setNotificationId(notificationId);
+        notification.setFromUserId(requesterId);
+        notification.setToUserId(requestedId);
+        notification.setNotificationType("buddy_request");
+        notification.setTitle(title);
+        notification.setMessage(message);
+        notification.setRelatedData("{\"requesterId\":\"" + requesterId + "\"}");
+        notification.setIsRead(false);
+        notification.setCreatedAt(LocalDateTime.now());
+        
+        saveNotification(notification);
     }
     
     /**
      * リアクション通知を作成
+     * 
+     * <p>アウトボックス配信から呼び出されます。失敗時は例外を送出し、配信側で再試行します。</p>
      */
-    public void createReactionNotification(String fromUserId, String toUserId, String workoutId) {
-        try {
-            User fromUser = userRepository.findByUserId(fromUserId).orElse(null);
-            if (fromUser == null) {
-                return;
-            }
-            
-            String notificationId = UUID.randomUUID().toString();
-            String title = "いいねバッジ";
-            String message = fromUser.getUserName() + "さんがあなたの運動にいいねを送りました";
-            
-            String relatedData = String.format(
-                "{\"workoutId\":\"%s\",\"fromUserId\":\"%s\",\"reactionType\":\"like\"}",
-                workoutId,
-                fromUserId
-            );
-            
-            Notification notification = new Notification();
-            notification.setNotificationId(notificationId);
-            notification.setFromUserId(fromUserId);
-            notification.setToUserId(toUserId);
-            notification.setNotificationType("reaction");
-            notification.setTitle(title);
-            notification.setMessage(message);
-            notification.setRelatedData(relatedData);
-            notification.setIsRead(false);
-            notification.setCreatedAt(LocalDateTime.now());
-            
-            notificationRepository.save(notification);
-            
-        } catch (Exception e) {
-            System.err.println("リアクション通知作成エラー: " + e.getMessage());
+    public void createReactionNotification(String fromUserId, String toUserId, String workoutId, String reactionType) {
+        User fromUser = userRepository.findByUserId(fromUserId).orElse(null);
+        if (fromUser == null) {
+            return;
         }
+        
+        String notificationId = UUID.randomUUID().toString();
+        String label = NotificationUtil.getReactionTypeLabel(reactionType);
+        String title = label + "バッジ";
+        String message = fromUser.getUserName() + "さんがあなたの運動に" + label + "を送りました";
+        
+        String relatedData = String.format(
+            "{\"workoutId\":\"%s\",\"fromUserId\":\"%s\",\"reactionType\":\"%s\"}",
+            workoutId,
+            fromUserId,
+            reactionType
+        );
+        
+        Notification notification = new Notification();
+        notification.setNotificationId(notificationId);
+        notification.setFromUserId(fromUserId);
+        notification.setToUserId(toUserId);
+        notification.setNotificationType("reaction");
+        notification.setTitle(title);
+        notification.setMessage(message);
+        notification.setRelatedData(relatedData);
+        notification.setIsRead(false);
+        notification.setCreatedAt(LocalDateTime.now());
+        
+        saveNotification(notification);
     }
     
     /**
      * ユーザーのバディ全員に運動完了通知を送信
+     * 
+     * <p>運動したユーザーは1回だけ取得し、全バディ分の通知を1回のJDBCバッチで登録します。
+     * アウトボックス配信から呼び出されます。失敗時は例外を送出し、配信側で再試行します。</p>
      */
     public void notifyBuddiesOfWorkoutCompletion(Workout workout) {
-        try {
-            // ユーザーのバディ一覧を取得
-            List<User> buddies = userRepository.findBuddiesByUserId(workout.getUserId());
-            
-            // 各バディに通知を送信
-            for (User buddy : buddies) {
-                createWorkoutCompletedNotification(workout, buddy.getUserId());
-            }
-            
-        } catch (Exception e) {
-            System.err.println("バディ通知送信エラー: " + e.getMessage());
+        List<String> buddyIds = userBuddyRepository.findAcceptedBuddyIdsByUserId(workout.getUserId());
+        if (buddyIds.isEmpty()) {
+            return;
+        }
+        User workoutUser = userRepository.findByUserId(workout.getUserId()).orElse(null);
+        if (workoutUser == null) {
+            return;
+        }
+        
+        LocalDateTime now = LocalDateTime.now();
+        List<Notification> notifications = new java.util.ArrayList<>(buddyIds.size());
+        for (String buddyId : buddyIds) {
+            notifications.add(buildWorkoutCompletedNotification(workout, workoutUser, buddyId, now));
+        }
+        notificationRepository.insertAll(notifications);
+        for (Notification notification : notifications) {
+            eventPublisher.publishEvent(new NotificationCreatedEvent(notification));
         }
-    }
-    
-    /**
-     * バディリクエスト通知を送信
-     */
-    public void notifyBuddyRequest(String requesterId, String requestedId) {
-        createBuddyRequestNotification(requesterId, requestedId);
-    }
-    
-    /**
-     * 運動完了通知を送信
-     */
-    public void notifyWorkoutCompleted(String userId, Workout workout) {
-        notifyBuddiesOfWorkoutCompletion(workout);
     }
     
     /**
      * バディ承認通知を送信
+     * 
+     * <p>アウトボックス配信から呼び出されます。失敗時は例外を送出し、配信側で再試行します。</p>
      */
     public void notifyBuddyAccepted(String requesterId, String requestedId) {
-        try {
-            User requestedUser = userRepository.findByUserId(requestedId).orElse(null);
-            if (requestedUser == null) {
-                return;
-            }
-            
-            String notificationId = UUID.randomUUID().toString();
-            String title = "バディリクエスト承認";
-            String message = requestedUser.getUserName() + "さんがあなたのバディリクエストを承認しました";
-            
-            Notification notification = new Notification();
-            notification.setNotificationId(notificationId);
-            notification.setFromUserId(requestedId);
-            notification.setToUserId(requesterId);
-            notification.setNotificationType("buddy_accepted");
-            notification.setTitle(title);
-            notification.setMessage(message);
-            notification.setRelatedData("{\"requestedId\":\"" + requestedId + "\"}");
-            notification.setIsRead(false);
-            notification.setCreatedAt(LocalDateTime.now());
-            
-            notificationRepository.save(notification);
-            
-        } catch (Exception e) {
-            System.err.println("バディ承認通知作成エラー: " + e.getMessage());
+        User requestedUser = userRepository.findByUserId(requestedId).orElse(null);
+        if (requestedUser == null) {
+            return;
         }
+        
+        String notificationId = UUID.randomUUID().toString();
+        String title = "バディリクエスト承認";
+        String message = requestedUser.getUserName() + "さんがあなたのバディリクエストを承認しました";
+        
+        Notification notification = new Notification();
+        notification.setNotificationId(notificationId);
+        notification.setFromUserId(requestedId);
+        notification.setToUserId(requesterId);
+        notification.setNotificationType("buddy_accepted");
+        notification.setTitle(title);
+        notification.setMessage(message);
+        notification.setRelatedData("{\"requestedId\":\"" + requestedId + "\"}");
+        notification.setIsRead(false);
+        notification.setCreatedAt(LocalDateTime.now());
+        
+        saveNotification(notification);
+    }
+
+    // 通知ページDTO
+    public static class NotificationPage {
+        private final java.util.List<Notification> notifications;
+        private final String nextCursor;
+        public NotificationPage(java.util.List<Notification> notifications, String nextCursor) {
+            this.notifications = notifications;
+            this.nextCursor = nextCursor;
+        }
+        public java.util.List<Notification> getNotifications() { return notifications; }
+        /** 次ページ取得用カーソル（最終ページの場合はnull） */
+        public String getNextCursor() { return nextCursor; }
+        public boolean hasMore() { return nextCursor != null; }
     }
 
     // 通知一覧画面データDTO
     public static class NotificationsResult {
         private final java.util.List<Notification> notifications;
         private final java.util.List<Notification> newNotifications;
-        public NotificationsResult(java.util.List<Notification> notifications, java.util.List<Notification> newNotifications) {
+        private final String nextCursor;
+        public NotificationsResult(java.util.List<Notification> notifications, java.util.List<Notification> newNotifications, String nextCursor) {
             this.notifications = notifications;
             this.newNotifications = newNotifications;
+            this.nextCursor = nextCursor;
         }
         public java.util.List<Notification> getNotifications() { return notifications; }
         public java.util.List<Notification> getNewNotifications() { return newNotifications; }
+        public String getNextCursor() { return nextCursor; }
     }
 
-    public NotificationsResult getNotificationsPageData(String userId) {
+    /**
+     * 通知一覧画面データを取得
+     * 
+     * <p>新着通知は先頭ページでのみ1ページ分表示し、過去の通知はカーソルで続きを取得します。</p>
+     */
+    public NotificationsResult getNotificationsPageData(String userId, String cursor) {
         try {
-            java.util.List<Notification> notifications = getNotifications(userId);
-            java.util.List<Notification> newNotifications = getNewNotifications(userId);
-            
-            // nullのnotificationTypeをフィルタリング
-            notifications = notifications.stream()
-                .filter(n -> n.getNotificationType() != null)
-                .collect(java.util.stream.Collectors.toList());
-            newNotifications = newNotifications.stream()
-                .filter(n -> n.getNotificationType() != null)
-                .collect(java.util.stream.Collectors.toList());
-            
-            return new NotificationsResult(notifications, newNotifications);
+            NotificationPage page = getNotificationPage(userId, cursor, false);
+            java.util.List<Notification> newNotifications = (cursor == null || cursor.isBlank())
+                ? getNotificationPage(userId, null, true).getNotifications()
+                : java.util.List.of();
+            return new NotificationsResult(page.getNotifications(), newNotifications, page.getNextCursor());
         } catch (RuntimeException e) {
-            return new NotificationsResult(java.util.List.of(), java.util.List.of());
+            return new NotificationsResult(java.util.List.of(), java.util.List.of(), null);
         }
     }
 
@@ -278,27 +386,24 @@ public class NotificationService {
     public static class HistoryResult {
         private final java.util.List<Notification> notifications;
         private final int unreadCount;
-        public HistoryResult(java.util.List<Notification> notifications, int unreadCount) {
+        private final String nextCursor;
+        public HistoryResult(java.util.List<Notification> notifications, int unreadCount, String nextCursor) {
             this.notifications = notifications;
             this.unreadCount = unreadCount;
+            this.nextCursor = nextCursor;
         }
         public java.util.List<Notification> getNotifications() { return notifications; }
         public int getUnreadCount() { return unreadCount; }
+        public String getNextCursor() { return nextCursor; }
     }
 
-    public HistoryResult getHistoryPageData(String userId) {
+    public HistoryResult getHistoryPageData(String userId, String cursor) {
         try {
-            java.util.List<Notification> notifications = getNotifications(userId);
+            NotificationPage page = getNotificationPage(userId, cursor, false);
             int unreadCount = getUnreadCount(userId);
-            
-            // nullのnotificationTypeをフィルタリング
-            notifications = notifications.stream()
-                .filter(n -> n.getNotificationType() != null)
-                .collect(java.util.stream.Collectors.toList());
-            
-            return new HistoryResult(notifications, unreadCount);
+            return new HistoryResult(page.getNotifications(), unreadCount, page.getNextCursor());
         } catch (RuntimeException e) {
-            return new HistoryResult(java.util.List.of(), 0);
+            return new HistoryResult(java.util.List.of(), 0, null);
         }
     }
 
@@ -316,8 +421,8 @@ public class NotificationService {
 
     public CheckNewResult checkNewNotifications(String userId) {
         try {
-            java.util.List<Notification> newNotifications = getNewNotifications(userId);
-            return new CheckNewResult(!newNotifications.isEmpty(), newNotifications.size());
+            int count = getUnreadCount(userId);
+            return new CheckNewResult(count > 0, count);
         } catch (Exception e) {
             return new CheckNewResult(false, 0);
         }
@@ -344,6 +449,17 @@ public class NotificationService {
         }
     }
 
+    public ActionResult tryMarkAsRead(List<String> notificationIds, String userId) {
+        try {
+            int updated = markAsRead(notificationIds, userId);
+            return new ActionResult(true, updated + "件の通知を既読にしました");
+        } catch (Exception e) {
+            return new ActionResult(false, e.getMessage());
+        }
+    }
+
+    // markAllAsRead はチャンクごとにトランザクションを分けるため（自己呼び出しでプロキシを経由しない）、ここでも開始しない
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public ActionResult tryMarkAllAsRead(String userId) {
         try {
             markAllAsRead(userId);
@@ -365,12 +481,25 @@ public class NotificationService {
             }
             
             notificationRepository.delete(notification);
+            if (!Boolean.TRUE.equals(notification.getIsRead())) {
+                unreadNotificationCounter.decrement(userId, 1);
+            }
+            eventPublisher.publishEvent(new NotificationsReadEvent(userId));
             return new ActionResult(true, "通知を削除しました");
         } catch (Exception e) {
             return new ActionResult(false, e.getMessage());
         }
     }
 
+    public ActionResult tryDeleteNotifications(List<String> notificationIds, String userId) {
+        try {
+            int deleted = deleteNotifications(notificationIds, userId);
+            return new ActionResult(true, deleted + "件の通知を削除しました");
+        } catch (Exception e) {
+            return new ActionResult(false, e.getMessage());
+        }
+    }
+
     // 通知詳細結果DTO
     public static class NotificationDetailResult {
         private final boolean success;
@@ -402,7 +531,9 @@ public class NotificationService {
             // 通知を既読にする
             if (!notification.getIsRead()) {
                 notification.setIsRead(true);
-                notificationRepository.save(notification);
+                notificationRepository.update(notification);
+                unreadNotificationCounter.decrement(userId, 1);
+                eventPublisher.publishEvent(new NotificationsReadEvent(userId));
             }
             
             return new NotificationDetailResult(true, notification, null);
@@ -0,0 +1,199 @@
+package com.benesse.workoutbuddy.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.benesse.workoutbuddy.entity.OutboxEvent;
+import com.benesse.workoutbuddy.entity.Workout;
+import com.benesse.workoutbuddy.repository.OutboxEventRepository;
+import com.benesse.workoutbuddy.repository.WorkoutRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * アウトボックスイベント配信
+ * 
+ * <p>{@code outbox_events} に記録されたイベントを定期的にまとめて取得し、通知作成などの副作用を実行します。
+ * イベントの処理と処理済みの記録は同一トランザクションで行うため、途中で失敗しても二重に通知されません。
+ * 処理がロック期限（{@code app.outbox.lock-seconds}）を超えて他の配信処理に取得し直された場合は、
+ * 処理済みの記録が試行回数の不一致で失敗するため、遅れた側の処理はロールバックされます。
+ * 失敗したイベントは待ち時間を延ばしながら再試行し、上限回数に達したら配信失敗として残します。</p>
+ * 
+ * <p>取得したイベントは仮想スレッドで並行に処理します。同時実行数はDB接続数を使い切らないよう制限します。</p>
+ */
+@Component
+public class OutboxDispatcher {
+    
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+    
+    @Autowired
+    private NotificationService notificationService;
+    
+    @Autowired
+    private WorkoutRepository workoutRepository;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    @Autowired
+    @Qualifier("outboxDispatchExecutor")
+    private ExecutorService outboxDispatchExecutor;
+    
+    private final TransactionTemplate transactionTemplate;
+    
+    private final Semaphore concurrency;
+    
+    @Value("${app.outbox.batch-size:50}")
+    private int batchSize;
+    
+    @Value("${app.outbox.lock-seconds:60}")
+    private int lockSeconds;
+    
+    @Value("${app.outbox.max-attempts:10}")
+    private int maxAttempts;
+    
+    @Value("${app.outbox.retention-days:7}")
+    private int retentionDays;
+    
+    public OutboxDispatcher(PlatformTransactionManager transactionManager,
+                            @Value("${app.outbox.max-concurrency:4}") int maxConcurrency) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.concurrency = new Semaphore(maxConcurrency);
+    }
+    
+    /**
+     * 配信対象のイベントがなくなるまでバッチ単位で処理
+     */
+    @Scheduled(fixedDelayString = "${app.outbox.poll-millis:1000}")
+    public void dispatch() {
+        while (true) {
+            List<OutboxEvent> events = outboxEventRepository.claimBatch(batchSize, lockSeconds);
+            if (events.isEmpty()) {
+                return;
+            }
+            
+            List<CompletableFuture<Void>> futures = new ArrayList<>(events.size());
+            for (OutboxEvent event : events) {
+                futures.add(CompletableFuture.runAsync(() -> processWithPermit(event), outboxDispatchExecutor));
+            }
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+            
+            if (events.size() < batchSize) {
+                return;
+            }
+        }
+    }
+    
+    /**
+     * 処理済みイベントを定期的に削除
+     */
+    @Scheduled(fixedDelayString = "${app.outbox.cleanup-millis:3600000}")
+    public void cleanup() {
+        int deleted = outboxEventRepository.deleteDoneOlderThanDays(retentionDays);
+        if (deleted > 0) {
+            System.out.println("処理済みアウトボックスイベントを削除しました: " + deleted + "件");
+        }
+    }
+    
+    private void processWithPermit(OutboxEvent event) {
+        concurrency.acquireUninterruptibly();
+        try {
+            process(event);
+        } finally {
+            concurrency.release();
+        }
+    }
+    
+    private void process(OutboxEvent event) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                handle(event);
+                if (!outboxEventRepository.markDone(event.getEventId(), event.getAttempts())) {
+                    throw new ClaimLostException();
+                }
+            });
+        } catch (ClaimLostException e) {
+            // 他の配信処理が取得し直したイベント。通知はそちらで作成される
+            System.err.println("アウトボックスイベントのロック期限切れ: eventId=" + event.getEventId());
+        } catch (RuntimeException e) {
+            String error = e.getClass().getSimpleName() + ": " + e.getMessage();
+            if (event.getAttempts() >= maxAttempts) {
+                System.err.println("アウトボックスイベント配信失敗: eventId=" + event.getEventId() + ", " + error);
+                outboxEventRepository.markFailed(event.getEventId(), event.getAttempts(), error);
+            } else {
+                outboxEventRepository.scheduleRetry(event.getEventId(), event.getAttempts(),
+                    retryDelaySeconds(event.getAttempts()), error);
+            }
+        }
+    }
+    
+    /**
+     * イベント種別ごとの副作用を実行
+     */
+    private void handle(OutboxEvent event) {
+        switch (event.getEventType()) {
+            case OutboxEvent.TYPE_BUDDY_REQUESTED -> {
+                JsonNode payload = readPayload(event);
+                notificationService.createBuddyRequestNotification(
+                    payload.path("requesterId").asText(), payload.path("requestedId").asText());
+            }
+            case OutboxEvent.TYPE_BUDDY_ACCEPTED -> {
+                JsonNode payload = readPayload(event);
+                notificationService.notifyBuddyAccepted(
+                    payload.path("requesterId").asText(), payload.path("requestedId").asText());
+            }
+            case OutboxEvent.TYPE_WORKOUT_COMPLETED -> {
+                // 運動記録が削除済みの場合は通知不要
+                Workout workout = workoutRepository.findById(event.getAggregateId()).orElse(null);
+                if (workout != null) {
+                    notificationService.notifyBuddiesOfWorkoutCompletion(workout);
+                }
+            }
+            case OutboxEvent.TYPE_REACTION_ADDED -> {
+                JsonNode payload = readPayload(event);
+                // 種別を含まない以前のイベントは「いいね」として扱う
+                notificationService.createReactionNotification(
+                    payload.path("fromUserId").asText(), payload.path("toUserId").asText(), event.getAggregateId(),
+                    payload.path("reactionType").asText("like"));
+            }
+            default -> throw new RuntimeException("未対応のイベント種別です: " + event.getEventType());
+        }
+    }
+    
+    private JsonNode readPayload(OutboxEvent event) {
+        try {
+            return objectMapper.readTree(event.getPayload());
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("イベントの内容を解析できません: " + e.getMessage(), e);
+        }
+    }
+    
+    /**
+     * 処理中にロック期限が切れ、他の配信処理にイベントを取得し直されたことを表す
+     */
+    private static class ClaimLostException extends RuntimeException {
+        ClaimLostException() {
+            super("ロック期限切れのため処理済みにできません");
+        }
+    }
+    
+    /**
+     * 再試行までの待ち秒数（試行回数ごとに倍増、最大10分）
+     */
+    private int retryDelaySeconds(int attempts) {
+        return (int) Math.min(600L, 5L << Math.min(attempts - 1, 10));
+    }
+}
@@ -5,13 +5,19 @@ import java.util.List;
 import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import com.benesse.workoutbuddy.cache.UserSearchIndex;
 import com.benesse.workoutbuddy.dto.UserRegistrationDto;
 import com.benesse.workoutbuddy.entity.User;
+import com.benesse.workoutbuddy.event.UserProfileChangedEvent;
 import com.benesse.workoutbuddy.repository.UserRepository;
+import com.benesse.workoutbuddy.util.SecurityUtil;
 
 /**
  * ユーザーサービス
@@ -26,6 +32,12 @@ public class UserService {
     @Autowired
     private PasswordEncoder passwordEncoder;
     
+    @Autowired
+    private UserSearchIndex userSearchIndex;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
     /**
      * ユーザー登録
      */
@@ -57,9 +69,12 @@ public class UserService {
             user.setIsActive(true);
             
             System.out.println("=== ユーザー保存開始 ===");
-            User savedUser = userRepository.save(user);
+            User savedUser = userRepository.insert(user);
             System.out.println("=== ユーザー保存完了: " + savedUser.getUserId() + " ===");
             
+            // コミット後にユーザー検索インデックス等へ反映
+            eventPublisher.publishEvent(new UserProfileChangedEvent(savedUser.getUserId(), savedUser.getUserName()));
+            
             // 初期目標設定（一時的に無効化）
             // System.out.println("=== 初期目標設定開始 ===");
             // createDefaultGoal(savedUser.getUserId());
@@ -105,7 +120,7 @@ public class UserService {
      */
     @Transactional(readOnly = true)
     public List<User> searchByUserName(String userName) {
-        return userRepository.findByUserNameContaining(userName);
+        return userSearchIndex.search(userName, null);
     }
     
     /**
@@ -126,10 +141,27 @@ public class UserService {
     
     /**
      * ユーザー情報更新
+     * 
+     * <p>ログイン中のユーザー自身の更新であれば、コミット後にプリンシパルが保持するユーザー名も更新します
+     * （ロールバックされた場合は保存されていないユーザー名がセッションに残らないようにするため）。</p>
      */
     public User updateUser(User user) {
         user.setUpdatedAt(LocalDateTime.now());
-        return userRepository.save(user);
+        userRepository.update(user);
+        String userId = user.getUserId();
+        String userName = user.getUserName();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    SecurityUtil.refreshCurrentUser(userId, userName);
+                }
+            });
+        } else {
+            SecurityUtil.refreshCurrentUser(userId, userName);
+        }
+        eventPublisher.publishEvent(new UserProfileChangedEvent(user.getUserId(), user.getUserName()));
+        return user;
     }
     
 
@@ -137,7 +169,7 @@ public class UserService {
     /**
      * ユーザー登録のバリデーション
      */
-    private void validateUserRegistration(UserRegistrationDto dto) {
+    void validateUserRegistration(UserRegistrationDto dto) {
         if (dto.getUserId() == null || dto.getUserId().length() < 3 || dto.getUserId().length() > 20) {
             throw new RuntimeException("ユーザーIDは3文字以上20文字以下で入力してください");
         }
@@ -192,8 +224,12 @@ public class UserService {
         }
     }
 
-    // userIdから安全にユーザー名を取得
+    // userIdから安全にユーザー名を取得（ログイン中のユーザー自身であればプリンシパルから取得）
     public String getUserNameSafe(String userId) {
+        LoginUser loginUser = SecurityUtil.getCurrentLoginUser();
+        if (loginUser != null && loginUser.getUserId().equals(userId)) {
+            return loginUser.getUserName();
+        }
         return findByUserId(userId).map(User::getUserName).orElse("");
     }
 } 
\ No newline at end of file
@@ -0,0 +1,87 @@
+package com.benesse.workoutbuddy.service;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.benesse.workoutbuddy.repository.UserWeeklyProgressRepository;
+
+/**
+ * 週間進捗集計の再構築サービス
+ * 
+ * <p>user_weekly_progress 集計テーブルを運動記録から再構築（バックフィル）します。
+ * 通常の更新は運動完了時に {@link WorkoutService#completeWorkout} が行うため、
+ * このサービスは導入時の初期投入や集計のずれを修正する場合に使用します。</p>
+ * 
+ * <p>起動時の動作は {@code app.progress.rollup.rebuild-on-startup} で指定します。</p>
+ * <ul>
+ *   <li>if-empty: 集計テーブルが空の場合のみ再構築（デフォルト）</li>
+ *   <li>always: 起動のたびに再構築</li>
+ *   <li>never: 再構築しない</li>
+ * </ul>
+ */
+@Service
+public class WeeklyProgressRollupService {
+    
+    @Autowired
+    private UserWeeklyProgressRepository userWeeklyProgressRepository;
+    
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    
+    @Value("${app.progress.rollup.rebuild-on-startup:if-empty}")
+    private String rebuildOnStartup;
+    
+    /**
+     * 起動時の再構築
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        if ("never".equals(rebuildOnStartup)) {
+            return;
+        }
+        if ("if-empty".equals(rebuildOnStartup) && !userWeeklyProgressRepository.isEmpty()) {
+            return;
+        }
+        System.out.println("=== 週間進捗集計の再構築開始 ===");
+        int users = rebuildAll();
+        System.out.println("=== 週間進捗集計の再構築完了: " + users + "ユーザー ===");
+    }
+    
+    /**
+     * 全ユーザーの集計を再構築
+     * 
+     * <p>ロックを長時間保持しないよう、ユーザー単位で個別のトランザクションとして実行します。</p>
+     * 
+     * @return 再構築したユーザー数
+     */
+    public int rebuildAll() {
+        List<String> userIds = userWeeklyProgressRepository.findUserIdsWithCompletedWorkouts();
+        int rebuilt = 0;
+        for (String userId : userIds) {
+            try {
+                rebuildUser(userId);
+                rebuilt++;
+            } catch (RuntimeException e) {
+                System.err.println("週間進捗集計の再構築エラー: " + userId + " - " + e.getMessage());
+            }
+        }
+        return rebuilt;
+    }
+    
+    /**
+     * 指定ユーザーの集計を再構築
+     * 
+     * @param userId ユーザーID
+     * @return 再構築した週の件数
+     */
+    public int rebuildUser(String userId) {
+        Integer weeks = transactionTemplate.execute(status -> userWeeklyProgressRepository.rebuildByUserId(userId));
+        return weeks != null ? weeks : 0;
+    }
+}
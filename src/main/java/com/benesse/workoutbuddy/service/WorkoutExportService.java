@@ -0,0 +1,175 @@
+package com.benesse.workoutbuddy.service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import com.benesse.workoutbuddy.entity.Workout;
+import com.benesse.workoutbuddy.repository.WorkoutRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * 運動記録エクスポートサービス
+ * 
+ * <p>運動記録をDBから1行ずつ読み出し、そのまま出力ストリームへCSVまたはNDJSON（1行1JSON）で書き出します。
+ * 一覧をメモリ上に保持しないため、件数に関わらずメモリ使用量は一定で、件数の上限もありません。</p>
+ */
+@Service
+public class WorkoutExportService {
+    
+    private static final String[] CSV_HEADER = {
+        "workout_id", "user_id", "workout_date", "start_time", "end_time",
+        "duration_seconds", "exercise_type", "comment", "status", "created_at"
+    };
+    
+    @Autowired
+    private WorkoutRepository workoutRepository;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    /**
+     * エクスポート形式
+     */
+    public enum Format {
+        CSV("text/csv; charset=UTF-8", "csv"),
+        NDJSON("application/x-ndjson; charset=UTF-8", "ndjson");
+        
+        private final String contentType;
+        private final String extension;
+        
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+        
+        public String getContentType() { return contentType; }
+        public String getExtension() { return extension; }
+        
+        /**
+         * リクエストパラメータから形式を判定（不明な場合はCSV）
+         */
+        public static Format of(String value) {
+            return "ndjson".equalsIgnoreCase(value) || "json".equalsIgnoreCase(value) ? NDJSON : CSV;
+        }
+    }
+    
+    /**
+     * ユーザーの運動記録を書き出し
+     * 
+     * @param userId ユーザーID
+     * @param format 出力形式
+     * @param out 出力先（呼び出し側でクローズ）
+     */
+    public void exportUserWorkouts(String userId, Format format, OutputStream out) throws IOException {
+        export(format, out, consumer -> workoutRepository.streamByUserId(userId, consumer));
+    }
+    
+    /**
+     * 全ユーザーの運動記録を書き出し（管理者用）
+     * 
+     * @param format 出力形式
+     * @param out 出力先（呼び出し側でクローズ）
+     */
+    public void exportAllWorkouts(Format format, OutputStream out) throws IOException {
+        export(format, out, workoutRepository::streamAll);
+    }
+    
+    private void export(Format format, OutputStream out, Consumer<Consumer<Workout>> source) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        try {
+            if (format == Format.CSV) {
+                // Excelで文字化けしないようBOMを付与
+                writer.write('\uFEFF');
+                writeCsvRow(writer, CSV_HEADER);
+                source.accept(workout -> writeCsv(writer, workout));
+            } else {
+                source.accept(workout -> writeNdjson(writer, workout));
+            }
+        } catch (UncheckedIOException e) {
+            // クライアントの切断など
+            throw e.getCause();
+        }
+        writer.flush();
+    }
+    
+    private void writeCsv(Writer writer, Workout workout) {
+        writeCsvRow(writer, new String[] {
+            workout.getWorkoutId(),
+            workout.getUserId(),
+            toText(workout.getWorkoutDate()),
+            toText(workout.getStartTime()),
+            toText(workout.getEndTime()),
+            toText(workout.getDurationSeconds()),
+            workout.getExerciseType(),
+            workout.getComment(),
+            workout.getStatus(),
+            toText(workout.getCreatedAt())
+        });
+    }
+    
+    private void writeCsvRow(Writer writer, String[] values) {
+        try {
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                writer.write(escapeCsv(values[i]));
+            }
+            writer.write("\r\n");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+    
+    private void writeNdjson(Writer writer, Workout workout) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("workoutId", workout.getWorkoutId());
+        row.put("userId", workout.getUserId());
+        row.put("workoutDate", toText(workout.getWorkoutDate()));
+        row.put("startTime", toText(workout.getStartTime()));
+        row.put("endTime", toText(workout.getEndTime()));
+        row.put("durationSeconds", workout.getDurationSeconds());
+        row.put("exerciseType", workout.getExerciseType());
+        row.put("comment", workout.getComment());
+        row.put("status", workout.getStatus());
+        row.put("createdAt", toText(workout.getCreatedAt()));
+        try {
+            writer.write(objectMapper.writeValueAsString(row));
+            writer.write('\n');
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("運動記録をJSONに変換できません: " + workout.getWorkoutId(), e);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+    
+    private String escapeCsv(String value) {
+        if (value == null) {
+            return "";
+        }
+        // 表計算ソフトで数式として解釈されないよう、先頭が数式記号のセルには'を付与する
+        if (!value.isEmpty() && "=+-@\t\r".indexOf(value.charAt(0)) >= 0) {
+            value = "'" + value;
+        }
+        if (value.indexOf(',') >= 0 || value.indexOf('"') >= 0 || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0) {
+            return "\"" + value.replace("\"", "\"\"") + "\"";
+        }
+        return value;
+    }
+    
+    private String toText(Object value) {
+        return value != null ? value.toString() : null;
+    }
+}
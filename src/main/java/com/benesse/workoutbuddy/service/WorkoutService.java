@@ -8,16 +8,29 @@ import java.util.Optional;
 import java.util.UUID;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.interceptor.TransactionAspectSupport;
 
+import com.benesse.workoutbuddy.cache.ActiveGoalCache;
+import com.benesse.workoutbuddy.cache.ActiveWorkoutRegistry;
+import com.benesse.workoutbuddy.cache.ExerciseTypeCache;
+import com.benesse.workoutbuddy.cache.ReactionCountBuffer;
 import com.benesse.workoutbuddy.dto.ProgressDto;
-import com.benesse.workoutbuddy.entity.User;
+import com.benesse.workoutbuddy.entity.OutboxEvent;
 import com.benesse.workoutbuddy.entity.UserGoal;
 import com.benesse.workoutbuddy.entity.Workout;
-import com.benesse.workoutbuddy.repository.UserGoalRepository;
-import com.benesse.workoutbuddy.repository.UserRepository;
+import com.benesse.workoutbuddy.entity.WorkoutReaction;
+import com.benesse.workoutbuddy.event.WorkoutCompletedEvent;
+import com.benesse.workoutbuddy.repository.OutboxEventRepository;
+import com.benesse.workoutbuddy.repository.UserWeeklyProgressRepository;
+import com.benesse.workoutbuddy.repository.WorkoutReactionRepository;
 import com.benesse.workoutbuddy.repository.WorkoutRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 
 /**
  * 運動記録サービスクラス
@@ -42,23 +55,54 @@ import com.benesse.workoutbuddy.repository.WorkoutRepository;
 @Transactional
 public class WorkoutService {
     
+    /** 受け付けるリアクション種別 */
+    private static final java.util.Set<String> REACTION_TYPES = java.util.Set.of("like", "great", "fire");
+    
     @Autowired
     private WorkoutRepository workoutRepository;
     
     @Autowired
-    private UserGoalRepository userGoalRepository;
+    private ActiveGoalCache activeGoalCache;
+    
+    @Autowired
+    private ActiveWorkoutRegistry activeWorkoutRegistry;
+    
+    @Autowired
+    private ExerciseTypeCache exerciseTypeCache;
+    
+    @Autowired
+    private UserService userService;
     
     @Autowired
     private NotificationService notificationService;
     
     @Autowired
-    private UserRepository userRepository;
+    private UserWeeklyProgressRepository userWeeklyProgressRepository;
+    
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+    
+    @Autowired
+    private WorkoutReactionRepository workoutReactionRepository;
+    
+    @Autowired
+    private ReactionCountBuffer reactionCountBuffer;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    @Value("${app.workout.records.page-size:20}")
+    private int recordsPageSize;
     
     /**
      * 運動を開始
      * 
      * <p>指定された運動種別で新しい運動セッションを開始します。
-     * 進行中の運動がある場合は例外をスローします。</p>
+     * 進行中の運動がある場合は例外をスローします。
+     * 重複チェックは {@link ActiveWorkoutRegistry} で不可分に行います。</p>
      * 
      * @param userId ユーザーID
      * @param exerciseType 運動種別（例：ランニング、筋トレ、ウォーキング）
@@ -67,16 +111,9 @@ public class WorkoutService {
      */
     public Workout startWorkout(String userId, String exerciseType) {
         // 目標取得（存在チェックのみ）
-        userGoalRepository.findActiveGoalByUserId(userId)
+        activeGoalCache.findActiveGoal(userId)
             .orElseThrow(() -> new RuntimeException("アクティブな目標が設定されていません"));
         
-        // 重複チェック（同日の進行中運動）
-        Optional<Workout> ongoingWorkout = workoutRepository.findByUserIdAndStatus(userId, "in_progress");
-        
-        if (ongoingWorkout.isPresent()) {
-            throw new RuntimeException("既に進行中の運動があります");
-        }
-        
         // 運動開始
         Workout workout = new Workout();
         String workoutId = UUID.randomUUID().toString();
@@ -88,8 +125,21 @@ public class WorkoutService {
         workout.setStatus("in_progress");
         workout.setCreatedAt(LocalDateTime.now());
         
-        Workout savedWorkout = workoutRepository.save(workout);
-        return savedWorkout;
+        // 重複チェック（進行中の運動はユーザーごとに1件まで）
+        if (!activeWorkoutRegistry.tryStart(workout)) {
+            throw new RuntimeException("既に進行中の運動があります");
+        }
+        
+        try {
+            return workoutRepository.insert(workout);
+        } catch (DuplicateKeyException e) {
+            // 他インスタンスで開始済み（ux_workouts_user_in_progress）
+            activeWorkoutRegistry.cancelStart(userId, workoutId);
+            throw new RuntimeException("既に進行中の運動があります");
+        } catch (RuntimeException e) {
+            activeWorkoutRegistry.cancelStart(userId, workoutId);
+            throw e;
+        }
     }
     
     /**
@@ -100,7 +150,7 @@ public class WorkoutService {
      * @throws RuntimeException アクティブな目標が設定されていない場合
      */
     public int getUserTargetSessionTime(String userId) {
-        UserGoal activeGoal = userGoalRepository.findActiveGoalByUserId(userId)
+        UserGoal activeGoal = activeGoalCache.findActiveGoal(userId)
             .orElseThrow(() -> new RuntimeException("アクティブな目標が設定されていません"));
         return activeGoal.getSessionTimeMinutes();
     }
@@ -113,7 +163,7 @@ public class WorkoutService {
      * @throws RuntimeException アクティブな目標が設定されていない場合
      */
     public String getUserTargetExerciseType(String userId) {
-        UserGoal activeGoal = userGoalRepository.findActiveGoalByUserId(userId)
+        UserGoal activeGoal = activeGoalCache.findActiveGoal(userId)
             .orElseThrow(() -> new RuntimeException("アクティブな目標が設定されていません"));
         return activeGoal.getExerciseType();
     }
@@ -125,14 +175,14 @@ public class WorkoutService {
      * @return 進行中の運動記録（存在しない場合は空）
      */
     public Optional<Workout> getCurrentWorkout(String userId) {
-        return workoutRepository.findByUserIdAndStatus(userId, "in_progress");
+        return activeWorkoutRegistry.find(userId);
     }
     
     /**
      * 運動を完了
      * 
      * <p>進行中の運動を完了し、運動時間を計算して記録を更新します。
-     * 完了後、バディへの通知を自動的に送信します。</p>
+     * バディへの通知はアウトボックスに記録し、{@link OutboxDispatcher} が非同期で送信します。</p>
      * 
      * @param workoutId 運動ID
      * @param comment 運動に関するコメント
@@ -144,10 +194,24 @@ public class WorkoutService {
         Workout workout = workoutRepository.findById(workoutId)
             .orElseThrow(() -> new RuntimeException("運動記録が見つかりません"));
         
-        if (!"in_progress".equals(workout.getStatus())) {
+        if (!"in_progress".equals(workout.getStatus())
+                || !activeWorkoutRegistry.tryComplete(workout.getUserId(), workoutId)) {
             throw new RuntimeException("完了できない運動ステータスです");
         }
         
+        try {
+            return finishWorkout(workout, comment);
+        } catch (RuntimeException e) {
+            // 呼び出し元が例外を捕捉してコミットした場合もレジストリとDBがずれないよう戻す
+            activeWorkoutRegistry.cancelComplete(workout);
+            throw e;
+        }
+    }
+    
+    /**
+     * 運動の完了を記録（週間進捗の加算・アウトボックス登録・完了イベント発行を含む）
+     */
+    private Workout finishWorkout(Workout workout, String comment) {
         // 完了処理
         LocalDateTime endTime = LocalDateTime.now();
         workout.setEndTime(endTime);
@@ -157,19 +221,31 @@ public class WorkoutService {
         workout.setComment(comment);
         workout.setStatus("completed");
         
-        Workout savedWorkout = workoutRepository.save(workout);
+        workoutRepository.update(workout);
+        
+        // 週間進捗集計を同一トランザクション内で加算
+        userWeeklyProgressRepository.addCompletedWorkout(
+            workout.getUserId(),
+            workout.getWorkoutDate().with(DayOfWeek.MONDAY),
+            workout.getWorkoutDate(),
+            workout.getDurationSeconds()
+        );
+        
+        // バディ通知はアウトボックス経由で非同期に送信
+        outboxEventRepository.append(OutboxEvent.TYPE_WORKOUT_COMPLETED, workout.getWorkoutId(), null);
         
-        // バディ通知
-        notificationService.notifyWorkoutCompleted(workout.getUserId(), savedWorkout);
+        // 運動完了イベント（コミット後にホーム画面キャッシュ等へ反映）
+        eventPublisher.publishEvent(new WorkoutCompletedEvent(workout));
         
-        return savedWorkout;
+        return workout;
     }
     
     /**
      * 週間進捗を計算
      * 
      * <p>今週（月曜日から日曜日）の運動日数と目標に対する進捗率を計算します。
-     * 進捗率に応じた励ましメッセージも生成します。</p>
+     * 進捗率に応じた励ましメッセージも生成します。
+     * 運動日数は週間進捗集計テーブルから主キーで取得します。</p>
      * 
      * @param userId ユーザーID
      * @return 週間進捗情報
@@ -178,19 +254,30 @@ public class WorkoutService {
     @Transactional(readOnly = true)
     public ProgressDto getWeeklyProgress(String userId) {
         // 目標取得
-        UserGoal goal = userGoalRepository.findActiveGoalByUserId(userId)
+        UserGoal goal = activeGoalCache.findActiveGoal(userId)
             .orElseThrow(() -> new RuntimeException("目標が設定されていません"));
         
-        // 今週の期間計算
-        LocalDate today = LocalDate.now();
-        LocalDate weekStart = today.with(DayOfWeek.MONDAY);
-        LocalDate weekEnd = today.with(DayOfWeek.SUNDAY);
+        // 今週の開始日計算
+        LocalDate weekStart = LocalDate.now().with(DayOfWeek.MONDAY);
         
-        // 今週の運動日数取得
-        int workoutDays = workoutRepository.countDistinctWorkoutDays(userId, weekStart, weekEnd);
+        // 今週の運動日数取得（集計テーブルの主キーシーク）
+        int workoutDays = userWeeklyProgressRepository.findDistinctDays(userId, weekStart);
         
+        return buildWeeklyProgress(workoutDays, goal.getWeeklyFrequency());
+    }
+    
+    /**
+     * 運動日数と目標頻度から週間進捗を組み立て
+     * 
+     * <p>進捗率の計算と励ましメッセージの生成を行います。
+     * 集計済みの値から進捗を作る場合（バディ進捗の一括取得など）にも使用します。</p>
+     * 
+     * @param workoutDays 今週の運動日数
+     * @param targetFrequency 目標の週間頻度
+     * @return 週間進捗情報
+     */
+    public ProgressDto buildWeeklyProgress(int workoutDays, int targetFrequency) {
         // 進捗率計算
-        int targetFrequency = goal.getWeeklyFrequency();
         int progressPercentage = Math.min(100, (workoutDays * 100) / targetFrequency);
         
         // 励ましメッセージ生成
@@ -205,14 +292,51 @@ public class WorkoutService {
     }
     
     /**
-     * ユーザーの運動記録を取得
+     * ユーザーの運動記録を1ページ分取得
+     * 
+     * <p>運動日・開始時刻の降順で {@code app.workout.records.page-size} 件ずつ返します。
+     * カーソルは「運動日_開始時刻_運動ID」形式で、前ページの最終行の位置を表します。</p>
      * 
      * @param userId ユーザーID
-     * @return 運動記録のリスト（運動日降順）
+     * @param exerciseType 運動種別（絞り込まない場合はnullまたは空文字）
+     * @param fromDate 運動日の下限（含む、不要ならnull）
+     * @param toDate 運動日の上限（含む、不要ならnull）
+     * @param cursor 前ページの {@link WorkoutPage#getNextCursor()}（先頭ページはnull）
+     * @return 運動記録ページ
      */
     @Transactional(readOnly = true)
-    public List<Workout> getUserWorkouts(String userId) {
-        return workoutRepository.findByUserIdOrderByWorkoutDateDesc(userId);
+    public WorkoutPage getWorkoutPage(String userId, String exerciseType, LocalDate fromDate, LocalDate toDate,
+                                      String cursor) {
+        LocalDate beforeDate = null;
+        LocalDateTime beforeStartTime = null;
+        String beforeWorkoutId = null;
+        if (cursor != null && !cursor.isBlank()) {
+            String[] parts = cursor.split("_", 3);
+            if (parts.length == 3) {
+                try {
+                    beforeDate = LocalDate.parse(parts[0]);
+                    beforeStartTime = LocalDateTime.parse(parts[1]);
+                    beforeWorkoutId = parts[2];
+                } catch (java.time.format.DateTimeParseException e) {
+                    // 不正なカーソルは先頭ページとして扱う
+                    beforeDate = null;
+                    beforeStartTime = null;
+                    beforeWorkoutId = null;
+                }
+            }
+        }
+        String type = (exerciseType == null || exerciseType.isBlank()) ? null : exerciseType;
+        
+        // 1件多く取得して次ページの有無を判定
+        List<Workout> rows = workoutRepository.findPageByUserId(userId, type, fromDate, toDate,
+                beforeDate, beforeStartTime, beforeWorkoutId, recordsPageSize + 1);
+        if (rows.size() <= recordsPageSize) {
+            return new WorkoutPage(rows, null);
+        }
+        List<Workout> items = rows.subList(0, recordsPageSize);
+        Workout last = items.get(items.size() - 1);
+        return new WorkoutPage(items,
+                last.getWorkoutDate() + "_" + last.getStartTime() + "_" + last.getWorkoutId());
     }
     
     /**
@@ -241,25 +365,53 @@ public class WorkoutService {
      * ワークアウトにリアクションを追加
      * 
      * <p>指定された運動記録にリアクション（いいね、素晴らしい等）を追加します。
-     * 現在の実装では、コメントにリアクション情報を追記する形で実装しています。</p>
+     * リアクションは1ユーザー・1種別につき1件で、既に送信済みの場合は何もしません。</p>
      * 
-     * @param workoutId 運動ID
+     * @param workout リアクション対象の運動記録
      * @param userId リアクション送信者ID
-     * @param reactionType リアクション種別（like, great, fire等）
-     * @throws RuntimeException ワークアウトが見つからない場合
+     * @param reactionType リアクション種別（like, great, fire）
+     * @return 新規にリアクションを登録した場合はtrue
+     * @throws RuntimeException リアクション種別が不正な場合
      */
-    public void addReaction(String workoutId, String userId, String reactionType) {
-        // ワークアウトが存在するかチェック
-        Workout workout = workoutRepository.findById(workoutId)
-            .orElseThrow(() -> new RuntimeException("ワークアウトが見つかりません"));
-        
-        // リアクションを保存（実際の実装ではWorkoutReactionエンティティを使用）
-        // ここでは簡単な実装として、ワークアウトのコメントにリアクション情報を追加
-        String currentComment = workout.getComment() != null ? workout.getComment() : "";
-        String reactionInfo = String.format(" [%s by %s]", reactionType, userId);
-        workout.setComment(currentComment + reactionInfo);
+    public boolean addReaction(Workout workout, String userId, String reactionType) {
+        String type = reactionType != null ? reactionType : "like";
+        if (!REACTION_TYPES.contains(type)) {
+            throw new RuntimeException("不正なリアクション種別です");
+        }
         
-        workoutRepository.save(workout);
+        WorkoutReaction reaction = new WorkoutReaction();
+        reaction.setWorkoutId(workout.getWorkoutId());
+        reaction.setUserId(userId);
+        reaction.setReactionType(type);
+        reaction.setCreatedAt(LocalDateTime.now());
+        boolean added = workoutReactionRepository.insertIfAbsent(reaction);
+        if (added) {
+            // 件数はメモリ上で集約し、まとめて集計テーブルへ反映
+            reactionCountBuffer.increment(workout.getWorkoutId(), type);
+        }
+        return added;
+    }
+    
+    /**
+     * 運動記録のリアクション件数を取得
+     * 
+     * @param workoutId 運動ID
+     * @return リアクション種別ごとの件数
+     */
+    @Transactional(readOnly = true)
+    public java.util.Map<String, Integer> getReactionCounts(String workoutId) {
+        return reactionCountBuffer.getCounts(workoutId);
+    }
+    
+    /**
+     * 複数の運動記録のリアクション件数をまとめて取得
+     * 
+     * @param workoutIds 運動IDのリスト
+     * @return 運動IDごとのリアクション種別ごとの件数
+     */
+    @Transactional(readOnly = true)
+    public java.util.Map<String, java.util.Map<String, Integer>> getReactionCounts(List<String> workoutIds) {
+        return reactionCountBuffer.getCounts(workoutIds);
     }
     
     /**
@@ -324,6 +476,7 @@ public class WorkoutService {
             Workout workout = startWorkout(userId, exerciseType);
             return new StartWorkoutResult(true, workout.getWorkoutId(), null);
         } catch (Exception e) {
+            TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
             return new StartWorkoutResult(false, null, e.getMessage());
         }
     }
@@ -340,6 +493,7 @@ public class WorkoutService {
             Workout workout = startWorkout(userId, exerciseType);
             return new StartWorkoutResult(true, workout.getWorkoutId(), null);
         } catch (Exception e) {
+            TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
             return new StartWorkoutResult(false, null, e.getMessage());
         }
     }
@@ -385,16 +539,15 @@ public class WorkoutService {
      */
     public InProgressResult getInProgressData(String userId, String workoutId) {
         try {
-            Workout workout = getWorkout(workoutId).orElse(null);
+            Workout workout = getCurrentWorkout(userId)
+                .filter(w -> w.getWorkoutId().equals(workoutId))
+                .orElse(null);
             if (workout == null) {
                 return new InProgressResult(false, null, 0, "");
             }
-            if (!workout.isInProgress()) {
-                return new InProgressResult(false, null, 0, "");
-            }
             
             int targetSessionTime = getUserTargetSessionTime(userId);
-            String userName = userRepository.findById(userId).map(User::getUserName).orElse("");
+            String userName = userService.getUserNameSafe(userId);
             
             return new InProgressResult(true, workout, targetSessionTime, userName);
         } catch (RuntimeException e) {
@@ -440,8 +593,10 @@ public class WorkoutService {
      */
     public CompleteResult getCompleteData(String userId, String workoutId) {
         try {
-            Workout workout = getWorkout(workoutId).orElse(null);
-            if (workout == null || !workout.isInProgress()) {
+            Workout workout = getCurrentWorkout(userId)
+                .filter(w -> w.getWorkoutId().equals(workoutId))
+                .orElse(null);
+            if (workout == null) {
                 return new CompleteResult(false, null, "");
             }
             long durationSeconds = java.time.Duration.between(workout.getStartTime(), java.time.LocalDateTime.now()).getSeconds();
@@ -488,10 +643,11 @@ public class WorkoutService {
      */
     public CompleteWorkoutResult tryCompleteWorkout(String userId, String workoutId, String comment) {
         try {
-            Workout workout = completeWorkout(workoutId, comment);
-            notificationService.notifyBuddiesOfWorkoutCompletion(workout);
+            completeWorkout(workoutId, comment);
             return new CompleteWorkoutResult(true, null);
         } catch (RuntimeException e) {
+            // 途中まで行った更新をコミットしない
+            TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
             return new CompleteWorkoutResult(false, e.getMessage());
         }
     }
@@ -530,17 +686,37 @@ public class WorkoutService {
     public ReactionResult tryAddReaction(String userId, java.util.Map<String, Object> request) {
         try {
             String workoutId = (String) request.get("workoutId");
-            String reactionType = (String) request.get("reactionType");
-            addReaction(workoutId, userId, reactionType);
-            Workout workout = findById(workoutId).orElse(null);
-            if (workout != null && !workout.getUserId().equals(userId)) {
-                notificationService.createReactionNotification(userId, workout.getUserId(), workoutId);
+            String reactionType = request.get("reactionType") != null ? (String) request.get("reactionType") : "like";
+            Workout workout = workoutRepository.findById(workoutId)
+                .orElseThrow(() -> new RuntimeException("ワークアウトが見つかりません"));
+            boolean added = addReaction(workout, userId, reactionType);
+            // 同じリアクションの再送信では通知しない
+            if (added && !workout.getUserId().equals(userId)) {
+                outboxEventRepository.append(OutboxEvent.TYPE_REACTION_ADDED, workoutId,
+                    reactionPayload(userId, workout.getUserId(), reactionType));
             }
-            return new ReactionResult(true, "リアクションを送信しました");
+            return new ReactionResult(true, added ? "リアクションを送信しました" : "既にリアクション済みです");
         } catch (Exception e) {
+            // リアクションだけが登録されて通知が送られない状態にしない
+            TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
             return new ReactionResult(false, e.getMessage());
         }
     }
+    
+    /**
+     * リアクション通知のアウトボックスペイロードを作成
+     */
+    private String reactionPayload(String fromUserId, String toUserId, String reactionType) {
+        java.util.Map<String, Object> payload = new java.util.LinkedHashMap<>();
+        payload.put("fromUserId", fromUserId);
+        payload.put("toUserId", toUserId);
+        payload.put("reactionType", reactionType);
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("リアクション通知のペイロードを作成できません", e);
+        }
+    }
 
     /**
      * 運動記録一覧データを表すDTO
@@ -550,35 +726,73 @@ public class WorkoutService {
     public static class RecordsResult {
         private final java.util.List<Workout> workouts;
         private final String userName;
+        private final String nextCursor;
+        private final java.util.List<String> exerciseTypes;
+        private final int unreadNotificationCount;
         
         /**
          * コンストラクタ
          * 
          * @param workouts 運動記録リスト
          * @param userName ユーザー名
+         * @param nextCursor 次ページ取得用カーソル（最終ページの場合はnull）
+         * @param exerciseTypes 絞り込み用の運動種別リスト
+         * @param unreadNotificationCount 未読通知数
          */
-        public RecordsResult(java.util.List<Workout> workouts, String userName) {
+        public RecordsResult(java.util.List<Workout> workouts, String userName, String nextCursor,
+                             java.util.List<String> exerciseTypes, int unreadNotificationCount) {
             this.workouts = workouts;
             this.userName = userName;
+            this.nextCursor = nextCursor;
+            this.exerciseTypes = exerciseTypes;
+            this.unreadNotificationCount = unreadNotificationCount;
         }
         
         public java.util.List<Workout> getWorkouts() { return workouts; }
         public String getUserName() { return userName; }
+        public String getNextCursor() { return nextCursor; }
+        public java.util.List<String> getExerciseTypes() { return exerciseTypes; }
+        public int getUnreadNotificationCount() { return unreadNotificationCount; }
+    }
+
+    /**
+     * 運動記録ページ
+     */
+    public static class WorkoutPage {
+        private final java.util.List<Workout> workouts;
+        private final String nextCursor;
+        
+        public WorkoutPage(java.util.List<Workout> workouts, String nextCursor) {
+            this.workouts = workouts;
+            this.nextCursor = nextCursor;
+        }
+        
+        public java.util.List<Workout> getWorkouts() { return workouts; }
+        /** 次ページ取得用カーソル（最終ページの場合はnull） */
+        public String getNextCursor() { return nextCursor; }
+        public boolean hasMore() { return nextCursor != null; }
     }
 
     /**
      * 運動記録一覧データを取得
      * 
      * @param userId ユーザーID
+     * @param exerciseType 運動種別（絞り込まない場合はnullまたは空文字）
+     * @param fromDate 運動日の下限（不要ならnull）
+     * @param toDate 運動日の上限（不要ならnull）
+     * @param cursor 次ページ取得用カーソル（先頭ページはnull）
      * @return 運動記録一覧データ
      */
-    public RecordsResult getRecordsData(String userId) {
+    public RecordsResult getRecordsData(String userId, String exerciseType, LocalDate fromDate, LocalDate toDate,
+                                        String cursor) {
         try {
-            java.util.List<Workout> workouts = getUserWorkouts(userId);
-            String userName = userRepository.findById(userId).map(User::getUserName).orElse("");
-            return new RecordsResult(workouts, userName);
+            WorkoutPage page = getWorkoutPage(userId, exerciseType, fromDate, toDate, cursor);
+            String userName = userService.getUserNameSafe(userId);
+            java.util.List<String> exerciseTypes = exerciseTypeCache.findExerciseTypes(userId);
+            int unreadCount = notificationService.getUnreadCount(userId);
+            return new RecordsResult(page.getWorkouts(), userName, page.getNextCursor(), exerciseTypes, unreadCount);
         } catch (RuntimeException e) {
-            return new RecordsResult(java.util.List.of(), "");
+            return new RecordsResult(java.util.List.of(), "", null, java.util.List.of(), 0);
         }
     }
 } 
\ No newline at end of file
@@ -27,6 +27,24 @@ public class NotificationUtil {
         }
     }
     
+    /**
+     * リアクション種別のラベルを取得
+     */
+    public static String getReactionTypeLabel(String reactionType) {
+        if (reactionType == null) {
+            return "いいね";
+        }
+        
+        switch (reactionType) {
+            case "great":
+                return "すごい";
+            case "fire":
+                return "ファイト";
+            default:
+                return "いいね";
+        }
+    }
+    
     /**
      * 通知種別のアイコンを取得
      */
@@ -1,8 +1,12 @@
 package com.benesse.workoutbuddy.util;
 
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
 
+import com.benesse.workoutbuddy.service.LoginUser;
+
 /**
  * Spring Security関連のユーティリティクラス
  */
@@ -21,6 +25,54 @@ public class SecurityUtil {
         return authentication.getName();
     }
     
+    /**
+     * 現在のログインユーザーを取得
+     * @return ログインユーザー（未認証の場合はnull）
+     */
+    public static LoginUser getCurrentLoginUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()) {
+            return null;
+        }
+        if (authentication.getPrincipal() instanceof LoginUser loginUser) {
+            return loginUser;
+        }
+        return null;
+    }
+    
+    /**
+     * 現在の認証ユーザーのユーザー名（表示名）を取得
+     * @return ユーザー名（未認証の場合はnull）
+     */
+    public static String getCurrentUserName() {
+        LoginUser loginUser = getCurrentLoginUser();
+        return loginUser != null ? loginUser.getUserName() : null;
+    }
+    
+    /**
+     * 現在の認証ユーザーのユーザー名を差し替え
+     * 
+     * <p>ユーザー情報の更新後に呼び出し、プリンシパルが保持するユーザー名を最新にします。
+     * セッションに保存されたSecurityContextを直接更新するため、以降のリクエストにも反映されます。
+     * 指定ユーザーが現在のユーザーでない場合は何もしません。</p>
+     * 
+     * @param userId 更新されたユーザーのID
+     * @param userName 新しいユーザー名
+     */
+    public static void refreshCurrentUser(String userId, String userName) {
+        SecurityContext context = SecurityContextHolder.getContext();
+        Authentication authentication = context.getAuthentication();
+        LoginUser loginUser = getCurrentLoginUser();
+        if (loginUser == null || !loginUser.getUserId().equals(userId)) {
+            return;
+        }
+        LoginUser refreshed = loginUser.withUserName(userName);
+        UsernamePasswordAuthenticationToken newAuthentication = UsernamePasswordAuthenticationToken.authenticated(
+                refreshed, authentication.getCredentials(), authentication.getAuthorities());
+        newAuthentication.setDetails(authentication.getDetails());
+        context.setAuthentication(newAuthentication);
+    }
+    
     /**
      * 現在のユーザーが認証されているかチェック
      * @return 認証済みの場合true
@@ -30,4 +82,4 @@ public class SecurityUtil {
         return authentication != null && authentication.isAuthenticated() && 
                !"anonymousUser".equals(authentication.getName());
     }
-} 
\ No newline at end of file
+}
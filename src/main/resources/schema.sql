@@ -94,6 +94,47 @@ CREATE TABLE workout_reactions (
     FOREIGN KEY (user_id) REFERENCES users(user_id)
 );
 
+-- 週間進捗集計テーブル（運動完了時に加算更新）
+IF NOT EXISTS (SELECT * FROM sysobjects WHERE name='user_weekly_progress' AND xtype='U')
+CREATE TABLE user_weekly_progress (
+    user_id VARCHAR(50) NOT NULL,
+    week_start DATE NOT NULL,
+    distinct_days INT NOT NULL DEFAULT 0,
+    total_seconds INT NOT NULL DEFAULT 0,
+    sessions INT NOT NULL DEFAULT 0,
+    last_workout_date DATE,
+    updated_at DATETIME2 DEFAULT GETDATE(),
+    PRIMARY KEY (user_id, week_start),
+    FOREIGN KEY (user_id) REFERENCES users(user_id)
+);
+
+-- 運動リアクション件数集計テーブル（メモリ上で集約した増分をまとめて加算）
+IF NOT EXISTS (SELECT * FROM sysobjects WHERE name='workout_reaction_counts' AND xtype='U')
+CREATE TABLE workout_reaction_counts (
+    workout_id VARCHAR(50) NOT NULL,
+    reaction_type VARCHAR(20) NOT NULL,
+    reaction_count INT NOT NULL DEFAULT 0,
+    updated_at DATETIME2 DEFAULT SYSDATETIME(),
+    PRIMARY KEY (workout_id, reaction_type),
+    FOREIGN KEY (workout_id) REFERENCES workouts(workout_id)
+);
+
+-- アウトボックスイベントテーブル（業務データと同一トランザクションで記録し、非同期に配信）
+IF NOT EXISTS (SELECT * FROM sysobjects WHERE name='outbox_events' AND xtype='U')
+CREATE TABLE outbox_events (
+    event_id BIGINT IDENTITY(1,1) PRIMARY KEY,
+    event_type VARCHAR(50) NOT NULL,
+    aggregate_id VARCHAR(50) NOT NULL,
+    payload NVARCHAR(MAX),
+    status VARCHAR(20) NOT NULL DEFAULT 'pending',
+    attempts INT NOT NULL DEFAULT 0,
+    available_at DATETIME2 NOT NULL DEFAULT SYSDATETIME(),
+    locked_until DATETIME2,
+    last_error VARCHAR(500),
+    created_at DATETIME2 DEFAULT SYSDATETIME(),
+    processed_at DATETIME2
+);
+
 -- インデックス作成
 IF NOT EXISTS (SELECT * FROM sys.indexes WHERE name='idx_users_user_name' AND object_id = OBJECT_ID('users'))
 CREATE INDEX idx_users_user_name ON users(user_name);
@@ -104,8 +145,13 @@ CREATE INDEX idx_user_goals_user_id ON user_goals(user_id);
 IF NOT EXISTS (SELECT * FROM sys.indexes WHERE name='idx_user_goals_active' AND object_id = OBJECT_ID('user_goals'))
 CREATE INDEX idx_user_goals_active ON user_goals(user_id, is_active);
 
-IF NOT EXISTS (SELECT * FROM sys.indexes WHERE name='idx_workouts_user_id' AND object_id = OBJECT_ID('workouts'))
-CREATE INDEX idx_workouts_user_id ON workouts(user_id);
+-- 運動記録一覧のキーセットページング用（user_id 単独のインデックスはこのインデックスで代替）
+IF EXISTS (SELECT * FROM sys.indexes WHERE name='idx_workouts_user_id' AND object_id = OBJECT_ID('workouts'))
+DROP INDEX idx_workouts_user_id ON workouts;
+
+IF NOT EXISTS (SELECT * FROM sys.indexes WHERE name='idx_workouts_user_records' AND object_id = OBJECT_ID('workouts'))
+CREATE INDEX idx_workouts_user_records ON workouts(user_id, workout_date DESC, start_time DESC, workout_id DESC)
+    INCLUDE (end_time, duration_seconds, exercise_type, comment, status, created_at);
 
 IF NOT EXISTS (SELECT * FROM sys.indexes WHERE name='idx_workouts_date' AND object_id = OBJECT_ID('workouts'))
 CREATE INDEX idx_workouts_date ON workouts(workout_date);
@@ -113,6 +159,11 @@ CREATE INDEX idx_workouts_date ON workouts(workout_date);
 IF NOT EXISTS (SELECT * FROM sys.indexes WHERE name='idx_workouts_status' AND object_id = OBJECT_ID('workouts'))
 CREATE INDEX idx_workouts_status ON workouts(user_id, status);
 
+-- 進行中の運動はユーザーごとに1件まで（既存データに重複がある場合は作成しない）
+IF NOT EXISTS (SELECT * FROM sys.indexes WHERE name='ux_workouts_user_in_progress' AND object_id = OBJECT_ID('workouts'))
+   AND NOT EXISTS (SELECT user_id FROM workouts WHERE status = 'in_progress' GROUP BY user_id HAVING COUNT(*) > 1)
+CREATE UNIQUE INDEX ux_workouts_user_in_progress ON workouts(user_id) WHERE status = 'in_progress';
+
 IF NOT EXISTS (SELECT * FROM sys.indexes WHERE name='idx_user_buddies_requester' AND object_id = OBJECT_ID('user_buddies'))
 CREATE INDEX idx_user_buddies_requester ON user_buddies(requester_id);
 
@@ -122,8 +173,12 @@ CREATE INDEX idx_user_buddies_requested ON user_buddies(requested_id);
 IF NOT EXISTS (SELECT * FROM sys.indexes WHERE name='idx_user_buddies_status' AND object_id = OBJECT_ID('user_buddies'))
 CREATE INDEX idx_user_buddies_status ON user_buddies(requester_id, requested_id, status);
 
-IF NOT EXISTS (SELECT * FROM sys.indexes WHERE name='idx_notifications_to_user' AND object_id = OBJECT_ID('notifications'))
-CREATE INDEX idx_notifications_to_user ON notifications(to_user_id);
+-- 通知一覧のキーセットページング用（to_user_id 単独のインデックスはこのインデックスで代替）
+IF EXISTS (SELECT * FROM sys.indexes WHERE name='idx_notifications_to_user' AND object_id = OBJECT_ID('notifications'))
+DROP INDEX idx_notifications_to_user ON notifications;
+
+IF NOT EXISTS (SELECT * FROM sys.indexes WHERE name='idx_notifications_to_user_created' AND object_id = OBJECT_ID('notifications'))
+CREATE INDEX idx_notifications_to_user_created ON notifications(to_user_id, created_at DESC, notification_id DESC) INCLUDE (is_read);
 
 IF NOT EXISTS (SELECT * FROM sys.indexes WHERE name='idx_notifications_read' AND object_id = OBJECT_ID('notifications'))
 CREATE INDEX idx_notifications_read ON notifications(to_user_id, is_read);
@@ -131,5 +186,12 @@ CREATE INDEX idx_notifications_read ON notifications(to_user_id, is_read);
 IF NOT EXISTS (SELECT * FROM sys.indexes WHERE name='idx_health_data_user_id' AND object_id = OBJECT_ID('health_data'))
 CREATE INDEX idx_health_data_user_id ON health_data(user_id);
 
-IF NOT EXISTS (SELECT * FROM sys.indexes WHERE name='idx_workout_reactions_workout_id' AND object_id = OBJECT_ID('workout_reactions'))
-CREATE INDEX idx_workout_reactions_workout_id ON workout_reactions(workout_id); 
\ No newline at end of file
+-- リアクションは1ユーザー・1種別につき1件（workout_id 単独のインデックスはこのインデックスで代替）
+IF EXISTS (SELECT * FROM sys.indexes WHERE name='idx_workout_reactions_workout_id' AND object_id = OBJECT_ID('workout_reactions'))
+DROP INDEX idx_workout_reactions_workout_id ON workout_reactions;
+
+IF NOT EXISTS (SELECT * FROM sys.indexes WHERE name='ux_workout_reactions_workout_user_type' AND object_id = OBJECT_ID('workout_reactions'))
+CREATE UNIQUE INDEX ux_workout_reactions_workout_user_type ON workout_reactions(workout_id, user_id, reaction_type);
+
+IF NOT EXISTS (SELECT * FROM sys.indexes WHERE name='idx_outbox_events_status' AND object_id = OBJECT_ID('outbox_events'))
+CREATE INDEX idx_outbox_events_status ON outbox_events(status, available_at) INCLUDE (locked_until);
@@ -4,13 +4,13 @@ document.addEventListener('DOMContentLoaded', function() {
     const notificationItems = document.querySelectorAll('.notification-item');
     notificationItems.forEach(item => {
         item.addEventListener('click', function(e) {
-            // アクションボタンがクリックされた場合は既読処理をスキップ
-            if (e.target.classList.contains('action-btn')) {
+            // アクションボタン・選択チェックボックスがクリックされた場合は既読処理をスキップ
+            if (e.target.classList.contains('action-btn') || e.target.classList.contains('notification-select')) {
                 return;
             }
             
             const notificationId = this.getAttribute('data-notification-id');
-            if (notificationId) {
+            if (notificationId && this.classList.contains('unread')) {
                 markAsRead(notificationId);
             }
         });
@@ -27,11 +27,53 @@ document.addEventListener('DOMContentLoaded', function() {
     // アクションボタンのイベントリスナーを設定
     setupActionButtons();
 
-    // Check for new notifications periodically
-    checkNewNotifications();
-    setInterval(checkNewNotifications, 30000); // Check every 30 seconds
+    // 選択した通知の一括操作
+    setupBulkActions();
+
+    // Subscribe to new notifications (SSE, falling back to long polling)
+    subscribeNotifications();
 });
 
+function subscribeNotifications() {
+    if (!window.EventSource) {
+        longPollNotifications();
+        return;
+    }
+
+    const source = new EventSource('/notifications/stream');
+    let connected = false;
+    source.addEventListener('notification', function(event) {
+        connected = true;
+        const data = JSON.parse(event.data);
+        if (data.hasNewNotifications) {
+            showNotificationPopup(data.count);
+        }
+    });
+    source.onerror = function() {
+        // 一度も接続できない場合はロングポーリングに切り替え（接続後の切断はEventSourceが自動再接続）
+        if (!connected) {
+            source.close();
+            checkNewNotifications();
+            longPollNotifications();
+        }
+    };
+}
+
+function longPollNotifications() {
+    fetch('/notifications/poll')
+    .then(response => response.json())
+    .then(data => {
+        if (data.hasNewNotifications) {
+            showNotificationPopup(data.count);
+        }
+        longPollNotifications();
+    })
+    .catch(error => {
+        console.error('Error polling notifications:', error);
+        setTimeout(longPollNotifications, 30000);
+    });
+}
+
 function setupActionButtons() {
     // 運動詳細を見るボタン
     const viewWorkoutBtns = document.querySelectorAll('.view-workout-btn');
@@ -70,26 +112,145 @@ function setupActionButtons() {
     });
 }
 
+// クリックで既読にする通知（続けてクリックされた分をまとめて1回で送信）
+const pendingReadIds = new Set();
+let pendingReadTimer = null;
+
 function markAsRead(notificationId) {
-    fetch('/notifications/mark-read', {
+    pendingReadIds.add(notificationId);
+    if (pendingReadTimer) {
+        clearTimeout(pendingReadTimer);
+    }
+    pendingReadTimer = setTimeout(function() {
+        pendingReadTimer = null;
+        const ids = Array.from(pendingReadIds);
+        pendingReadIds.clear();
+        markAsReadBulk(ids);
+    }, 500);
+}
+
+// ページ離脱時に送信待ちの既読をビーコンで送信
+window.addEventListener('pagehide', function() {
+    if (pendingReadIds.size === 0) {
+        return;
+    }
+    if (pendingReadTimer) {
+        clearTimeout(pendingReadTimer);
+        pendingReadTimer = null;
+    }
+    const body = new URLSearchParams();
+    pendingReadIds.forEach(notificationId => body.append('notificationIds', notificationId));
+    pendingReadIds.clear();
+    navigator.sendBeacon('/notifications/mark-read-beacon', body);
+});
+
+function markAsReadBulk(notificationIds) {
+    return postNotificationIds('/notifications/mark-read-bulk', notificationIds)
+    .then(data => {
+        if (data.success) {
+            // Remove unread styling
+            notificationIds.forEach(notificationId => {
+                document.querySelectorAll(`[data-notification-id="${notificationId}"]`).forEach(item => {
+                    item.classList.remove('unread');
+                });
+            });
+        }
+        return data;
+    })
+    .catch(error => {
+        console.error('Error marking notifications as read:', error);
+        return { success: false };
+    });
+}
+
+function deleteNotificationsBulk(notificationIds) {
+    return postNotificationIds('/notifications/delete-bulk', notificationIds)
+    .then(data => {
+        if (data.success) {
+            notificationIds.forEach(notificationId => {
+                document.querySelectorAll(`[data-notification-id="${notificationId}"]`).forEach(item => {
+                    item.remove();
+                });
+            });
+        }
+        return data;
+    })
+    .catch(error => {
+        console.error('Error deleting notifications:', error);
+        return { success: false };
+    });
+}
+
+function postNotificationIds(url, notificationIds) {
+    const body = new URLSearchParams();
+    notificationIds.forEach(notificationId => body.append('notificationIds', notificationId));
+    return fetch(url, {
         method: 'POST',
         headers: {
             'Content-Type': 'application/x-www-form-urlencoded',
         },
-        body: `notificationId=${notificationId}`
+        body: body
     })
-    .then(response => response.json())
-    .then(data => {
-        if (data.success) {
-            // Remove unread styling
-            const notificationItem = document.querySelector(`[data-notification-id="${notificationId}"]`);
-            if (notificationItem) {
-                notificationItem.classList.remove('unread');
+    .then(response => response.json());
+}
+
+function setupBulkActions() {
+    const bulkMarkReadBtn = document.getElementById('bulkMarkReadBtn');
+    const bulkDeleteBtn = document.getElementById('bulkDeleteBtn');
+    if (!bulkMarkReadBtn || !bulkDeleteBtn) {
+        return;
+    }
+
+    function selectedIds() {
+        return Array.from(document.querySelectorAll('.notification-select:checked'))
+            .map(checkbox => checkbox.value);
+    }
+
+    function updateButtons() {
+        const count = selectedIds().length;
+        bulkMarkReadBtn.disabled = count === 0;
+        bulkDeleteBtn.disabled = count === 0;
+    }
+
+    function clearSelection() {
+        document.querySelectorAll('.notification-select:checked').forEach(checkbox => {
+            checkbox.checked = false;
+        });
+        updateButtons();
+    }
+
+    document.querySelectorAll('.notification-select').forEach(checkbox => {
+        checkbox.addEventListener('change', updateButtons);
+    });
+
+    bulkMarkReadBtn.addEventListener('click', function() {
+        const ids = selectedIds();
+        if (ids.length === 0) {
+            return;
+        }
+        markAsReadBulk(ids).then(data => {
+            if (data.success) {
+                clearSelection();
+                showMessage(data.message, 'success');
+            } else {
+                showMessage(data.message || 'エラーが発生しました', 'error');
             }
+        });
+    });
+
+    bulkDeleteBtn.addEventListener('click', function() {
+        const ids = selectedIds();
+        if (ids.length === 0 || !confirm(`選択した${ids.length}件の通知を削除しますか？`)) {
+            return;
         }
-    })
-    .catch(error => {
-        console.error('Error marking notification as read:', error);
+        deleteNotificationsBulk(ids).then(data => {
+            if (data.success) {
+                updateButtons();
+                showMessage(data.message, 'success');
+            } else {
+                showMessage(data.message || 'エラーが発生しました', 'error');
+            }
+        });
     });
 }
 
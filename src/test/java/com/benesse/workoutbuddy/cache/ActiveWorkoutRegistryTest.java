@@ -0,0 +1,88 @@
+package com.benesse.workoutbuddy.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.benesse.workoutbuddy.entity.Workout;
+import com.benesse.workoutbuddy.repository.WorkoutRepository;
+
+/**
+ * {@link ActiveWorkoutRegistry} のテスト
+ */
+class ActiveWorkoutRegistryTest {
+
+    private WorkoutRepository workoutRepository;
+    private ActiveWorkoutRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        workoutRepository = mock(WorkoutRepository.class);
+        registry = new ActiveWorkoutRegistry();
+        ReflectionTestUtils.setField(registry, "workoutRepository", workoutRepository);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void 起動時にDBの進行中の運動を読み込む() {
+        Workout loaded = workout("w1", "user1");
+        doAnswer(invocation -> {
+            ((Consumer<Workout>) invocation.getArgument(1)).accept(loaded);
+            return null;
+        }).when(workoutRepository).streamByStatus(eq("in_progress"), any());
+        when(workoutRepository.existsByWorkoutIdAndStatus("w1", "in_progress")).thenReturn(true);
+
+        registry.afterSingletonsInstantiated();
+
+        assertThat(registry.find("user1")).map(Workout::getWorkoutId).contains("w1");
+    }
+
+    @Test
+    void 進行中の運動がある間は開始できない() {
+        when(workoutRepository.existsByWorkoutIdAndStatus("w1", "in_progress")).thenReturn(true);
+
+        assertThat(registry.tryStart(workout("w1", "user1"))).isTrue();
+        assertThat(registry.tryStart(workout("w2", "user1"))).isFalse();
+    }
+
+    @Test
+    void DBで完了済みの登録は破棄して開始できる() {
+        // 他インスタンスで完了された運動
+        when(workoutRepository.existsByWorkoutIdAndStatus("w1", "in_progress")).thenReturn(false);
+
+        assertThat(registry.tryStart(workout("w1", "user1"))).isTrue();
+        assertThat(registry.tryStart(workout("w2", "user1"))).isTrue();
+        when(workoutRepository.existsByWorkoutIdAndStatus("w2", "in_progress")).thenReturn(true);
+        assertThat(registry.find("user1")).map(Workout::getWorkoutId).contains("w2");
+    }
+
+    @Test
+    void DBで完了済みの登録は参照時に破棄する() {
+        when(workoutRepository.existsByWorkoutIdAndStatus("w1", "in_progress")).thenReturn(false);
+        when(workoutRepository.findByUserIdAndStatus("user1", "in_progress")).thenReturn(Optional.empty());
+        registry.tryStart(workout("w1", "user1"));
+
+        assertThat(registry.find("user1")).isEmpty();
+        assertThat(registry.size()).isZero();
+    }
+
+    private Workout workout(String workoutId, String userId) {
+        Workout workout = new Workout();
+        workout.setWorkoutId(workoutId);
+        workout.setUserId(userId);
+        workout.setStartTime(LocalDateTime.now());
+        workout.setStatus("in_progress");
+        return workout;
+    }
+}
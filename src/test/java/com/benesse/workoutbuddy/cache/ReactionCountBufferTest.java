@@ -0,0 +1,143 @@
+package com.benesse.workoutbuddy.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.benesse.workoutbuddy.repository.WorkoutReactionCountRepository;
+
+/**
+ * {@link ReactionCountBuffer} のテスト
+ */
+class ReactionCountBufferTest {
+
+    private FakeCountRepository repository;
+    private ReactionCountBuffer buffer;
+
+    @BeforeEach
+    void setUp() {
+        repository = new FakeCountRepository();
+        buffer = new ReactionCountBuffer();
+        ReflectionTestUtils.setField(buffer, "workoutReactionCountRepository", repository);
+        ReflectionTestUtils.setField(buffer, "transactionTemplate",
+            new TransactionTemplate(mock(PlatformTransactionManager.class)));
+    }
+
+    @Test
+    void 未反映の増分をDBの件数に加えて返す() {
+        repository.counts.put("w1", new HashMap<>(Map.of("like", 3)));
+        buffer.increment("w1", "like");
+        buffer.increment("w1", "fire");
+
+        assertThat(buffer.getCounts("w1")).containsOnly(Map.entry("like", 4), Map.entry("fire", 1));
+    }
+
+    @Test
+    void 書き出し後も件数は変わらない() {
+        buffer.increment("w1", "like");
+        buffer.increment("w1", "like");
+        buffer.flush();
+
+        assertThat(repository.counts.get("w1")).containsEntry("like", 2);
+        assertThat(buffer.getCounts("w1")).containsOnly(Map.entry("like", 2));
+    }
+
+    @Test
+    void 書き出しに失敗した増分は次回に書き出す() {
+        buffer.increment("w1", "like");
+        repository.failNext = true;
+        buffer.flush();
+
+        assertThat(repository.counts).isEmpty();
+        assertThat(buffer.getCounts("w1")).containsOnly(Map.entry("like", 1));
+
+        buffer.flush();
+        assertThat(repository.counts.get("w1")).containsEntry("like", 1);
+        assertThat(buffer.getCounts("w1")).containsOnly(Map.entry("like", 1));
+    }
+
+    @Test
+    void 書き出し中も他の運動の参照は待たず対象の運動は正確に返す() throws Exception {
+        buffer.increment("w1", "like");
+        buffer.increment("w2", "great");
+        repository.blockWrites = new CountDownLatch(1);
+        repository.writing = new CountDownLatch(1);
+        CompletableFuture<Void> flushing = CompletableFuture.runAsync(buffer::flush);
+        assertThat(repository.writing.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // 書き出し中のトランザクションはまだコミットされていない
+        CompletableFuture<Map<String, Integer>> reading = CompletableFuture.supplyAsync(() -> buffer.getCounts("w1"));
+        buffer.increment("w3", "fire");
+        assertThat(buffer.getCounts("w3")).containsOnly(Map.entry("fire", 1));
+
+        repository.blockWrites.countDown();
+        flushing.get(5, TimeUnit.SECONDS);
+        assertThat(reading.get(5, TimeUnit.SECONDS)).containsOnly(Map.entry("like", 1));
+        assertThat(buffer.getCounts(List.of("w1", "w2"))).containsOnly(
+            Map.entry("w1", Map.of("like", 1)), Map.entry("w2", Map.of("great", 1)));
+    }
+
+    /**
+     * 件数をメモリ上に保持するリポジトリ
+     */
+    private static class FakeCountRepository extends WorkoutReactionCountRepository {
+        private final Map<String, Map<String, Integer>> counts = new HashMap<>();
+        private volatile boolean failNext;
+        private volatile CountDownLatch blockWrites;
+        private volatile CountDownLatch writing;
+
+        @Override
+        public void addDeltas(List<Object[]> deltas) {
+            if (failNext) {
+                failNext = false;
+                throw new IllegalStateException("書き込み失敗");
+            }
+            if (writing != null) {
+                writing.countDown();
+            }
+            Map<String, Map<String, Integer>> updated = new HashMap<>();
+            for (Object[] delta : deltas) {
+                updated.computeIfAbsent((String) delta[0], k -> new HashMap<>())
+                    .merge((String) delta[1], ((Long) delta[2]).intValue(), Integer::sum);
+            }
+            try {
+                if (blockWrites != null && !blockWrites.await(5, TimeUnit.SECONDS)) {
+                    throw new IllegalStateException("タイムアウト");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+            synchronized (counts) {
+                updated.forEach((workoutId, types) -> types.forEach((type, amount) ->
+                    counts.computeIfAbsent(workoutId, k -> new HashMap<>()).merge(type, amount, Integer::sum)));
+            }
+        }
+
+        @Override
+        public Map<String, Map<String, Integer>> findByWorkoutIds(List<String> workoutIds) {
+            Map<String, Map<String, Integer>> result = new HashMap<>();
+            synchronized (counts) {
+                for (String workoutId : workoutIds) {
+                    Map<String, Integer> workoutCounts = counts.get(workoutId);
+                    if (workoutCounts != null) {
+                        result.put(workoutId, new HashMap<>(workoutCounts));
+                    }
+                }
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.benesse.workoutbuddy.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.authentication;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import com.benesse.workoutbuddy.jdbc.QueryCounter;
+import com.benesse.workoutbuddy.service.LoginUser;
+
+/**
+ * 画面ごとのSQL実行回数のテスト（N+1の再発防止）
+ *
+ * <p>件数の少ないユーザーと多いユーザーで同じ画面を表示し、SQL実行回数が件数に比例して増えないこと、
+ * および予算（{@link #QUERY_BUDGET}）以内であることを確認します。</p>
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class QueryBudgetTest {
+
+    /** 1画面あたりのSQL実行回数の上限 */
+    private static final int QUERY_BUDGET = 10;
+
+    private static final AtomicInteger SEQUENCE = new AtomicInteger();
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void homeBuddyProgressDoesNotQueryPerBuddy() throws Exception {
+        String few = createUser();
+        addBuddies(few, 2);
+        String many = createUser();
+        addBuddies(many, 8);
+
+        assertSameQueryCount(get("/"), few, many);
+    }
+
+    @Test
+    void notificationsDoNotQueryPerNotification() throws Exception {
+        String few = createUser();
+        addNotifications(few, 2);
+        String many = createUser();
+        addNotifications(many, 15);
+
+        assertSameQueryCount(get("/notifications"), few, many);
+    }
+
+    @Test
+    void workoutRecordsDoNotQueryPerWorkout() throws Exception {
+        String few = createUser();
+        addWorkouts(few, 2);
+        String many = createUser();
+        addWorkouts(many, 15);
+
+        assertSameQueryCount(get("/workout/records"), few, many);
+        assertSameQueryCount(get("/workout/records/page"), few, many);
+    }
+
+    /**
+     * 2人のユーザーで同じリクエストを実行し、SQL実行回数が同じで予算以内であることを確認
+     */
+    private void assertSameQueryCount(MockHttpServletRequestBuilder request, String fewUserId, String manyUserId)
+            throws Exception {
+        perform(request, fewUserId);
+        int baseline = QueryCounter.currentOrLast().getQueryCount();
+        assertThat(baseline).as("SQL実行回数が集計されていること").isPositive();
+        QueryCounter.assertMaxQueryCount(QUERY_BUDGET);
+
+        perform(request, manyUserId);
+        QueryCounter.assertQueryCount(baseline);
+    }
+
+    private void perform(MockHttpServletRequestBuilder request, String userId) throws Exception {
+        LoginUser loginUser = new LoginUser(userId, "", true, List.of(new SimpleGrantedAuthority("ROLE_USER")),
+            "テスト" + userId, LocalDateTime.now());
+        mockMvc.perform(request.with(authentication(
+                UsernamePasswordAuthenticationToken.authenticated(loginUser, null, loginUser.getAuthorities()))))
+            .andExpect(status().isOk());
+    }
+
+    private String createUser() {
+        String userId = "qb" + SEQUENCE.incrementAndGet();
+        jdbcTemplate.update("INSERT INTO users (user_id, user_name, password_hash) VALUES (?, ?, ?)",
+            userId, "テスト" + userId, "x");
+        jdbcTemplate.update("INSERT INTO user_goals (user_id, goal_duration, weekly_frequency, exercise_type, "
+            + "session_time_minutes, is_active) VALUES (?, '3months', 3, 'ウォーキング', 30, 1)", userId);
+        return userId;
+    }
+
+    private void addBuddies(String userId, int count) {
+        LocalDate weekStart = LocalDate.now().with(DayOfWeek.MONDAY);
+        for (int i = 0; i < count; i++) {
+            String buddyId = createUser();
+            jdbcTemplate.update("INSERT INTO user_buddies (requester_id, requested_id, status) VALUES (?, ?, 'accepted')",
+                userId, buddyId);
+            jdbcTemplate.update("INSERT INTO user_weekly_progress (user_id, week_start, distinct_days, total_seconds, sessions) "
+                + "VALUES (?, ?, 1, 1800, 1)", buddyId, weekStart);
+        }
+    }
+
+    private void addNotifications(String userId, int count) {
+        String fromUserId = createUser();
+        for (int i = 0; i < count; i++) {
+            jdbcTemplate.update("INSERT INTO notifications (notification_id, from_user_id, to_user_id, notification_type, "
+                + "title, message, is_read, created_at) VALUES (?, ?, ?, 'reaction', 'いいねバッジ', 'いいね', ?, ?)",
+                UUID.randomUUID().toString(), fromUserId, userId, i % 2 == 0, LocalDateTime.now().minusMinutes(i));
+        }
+    }
+
+    private void addWorkouts(String userId, int count) {
+        for (int i = 0; i < count; i++) {
+            LocalDateTime start = LocalDateTime.now().minusDays(i).minusHours(1);
+            jdbcTemplate.update("INSERT INTO workouts (workout_id, user_id, workout_date, start_time, end_time, "
+                + "duration_seconds, exercise_type, status) VALUES (?, ?, ?, ?, ?, 1800, 'ウォーキング', 'completed')",
+                UUID.randomUUID().toString(), userId, start.toLocalDate(), start, start.plusMinutes(30));
+        }
+    }
+}
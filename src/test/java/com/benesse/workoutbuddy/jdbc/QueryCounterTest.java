@@ -0,0 +1,101 @@
+package com.benesse.workoutbuddy.jdbc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * {@link QueryCounter} のテスト
+ */
+class QueryCounterTest {
+
+    @AfterEach
+    void tearDown() {
+        QueryCounter.end();
+    }
+
+    @Test
+    void shapeOfCollapsesWhitespaceAndInListPlaceholders() {
+        assertThat(QueryCounter.shapeOf("SELECT *\n  FROM users\tWHERE user_id IN (?, ?,?)"))
+            .isEqualTo("SELECT * FROM users WHERE user_id IN (?...)");
+        assertThat(QueryCounter.shapeOf("SELECT * FROM users WHERE user_id IN (?)"))
+            .isEqualTo("SELECT * FROM users WHERE user_id IN (?)");
+        assertThat(QueryCounter.shapeOf(null)).isEmpty();
+    }
+
+    @Test
+    void recordsOnlyWhileCounting() {
+        QueryCounter.record("SELECT 1", 1_000_000);
+        assertThat(QueryCounter.current()).isNull();
+
+        QueryCounter.Statistics statistics = QueryCounter.begin();
+        QueryCounter.record("SELECT * FROM users WHERE user_id = ?", 2_000_000);
+        QueryCounter.record("SELECT * FROM users  WHERE user_id = ?", 3_000_000);
+        QueryCounter.record("SELECT * FROM workouts", 1_000_000);
+        assertThat(QueryCounter.end()).isSameAs(statistics);
+
+        assertThat(statistics.getQueryCount()).isEqualTo(3);
+        assertThat(statistics.getElapsedMillis()).isEqualTo(6);
+        assertThat(statistics.getShapeCounts().get(0).getKey()).isEqualTo("SELECT * FROM users WHERE user_id = ?");
+        assertThat(statistics.getShapeCounts().get(0).getValue()).isEqualTo(2);
+        assertThat(statistics.describe(2)).contains("x2 SELECT * FROM users WHERE user_id = ?")
+            .doesNotContain("workouts");
+    }
+
+    @Test
+    void beginJoinsRunningCount() {
+        QueryCounter.Statistics outer = QueryCounter.begin();
+        assertThat(QueryCounter.begin()).isSameAs(outer);
+    }
+
+    @Test
+    void assertionsUseLastFinishedCount() {
+        QueryCounter.begin();
+        QueryCounter.record("SELECT 1", 0);
+        QueryCounter.record("SELECT 1", 0);
+        QueryCounter.end();
+
+        QueryCounter.assertQueryCount(2);
+        QueryCounter.assertMaxQueryCount(2);
+        assertThatThrownBy(() -> QueryCounter.assertQueryCount(1))
+            .isInstanceOf(AssertionError.class)
+            .hasMessageContaining("x2 SELECT 1");
+        assertThatThrownBy(() -> QueryCounter.assertMaxQueryCount(1))
+            .isInstanceOf(AssertionError.class);
+    }
+
+    @Test
+    void beginDiscardsPreviousResult() {
+        QueryCounter.begin();
+        QueryCounter.record("SELECT 1", 0);
+        QueryCounter.end();
+
+        QueryCounter.begin();
+        assertThat(QueryCounter.currentOrLast().getQueryCount()).isZero();
+        QueryCounter.end();
+        QueryCounter.assertQueryCount(0);
+    }
+
+    @Test
+    void propagatingExecutorRecordsIntoCallerCount() throws Exception {
+        ExecutorService executor = QueryCounter.propagating(Executors.newVirtualThreadPerTaskExecutor());
+        try {
+            QueryCounter.Statistics statistics = QueryCounter.begin();
+            executor.submit(() -> QueryCounter.record("SELECT 1", 0)).get();
+            assertThat(statistics.getQueryCount()).isEqualTo(1);
+
+            QueryCounter.end();
+            executor.submit(() -> QueryCounter.record("SELECT 1", 0)).get();
+            assertThat(statistics.getQueryCount()).isEqualTo(1);
+        } finally {
+            executor.shutdown();
+            executor.awaitTermination(5, TimeUnit.SECONDS);
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.benesse.workoutbuddy.jdbc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.Closeable;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * {@link QueryCountingDataSource} のテスト
+ */
+class QueryCountingDataSourceTest {
+
+    private DataSource target;
+    private Connection connection;
+    private PreparedStatement preparedStatement;
+    private Statement statement;
+    private QueryCountingDataSource dataSource;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        target = mock(DataSource.class);
+        connection = mock(Connection.class);
+        preparedStatement = mock(PreparedStatement.class);
+        statement = mock(Statement.class);
+        when(target.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement(anyString())).thenReturn(preparedStatement);
+        when(connection.createStatement()).thenReturn(statement);
+        when(preparedStatement.executeQuery()).thenReturn(mock(ResultSet.class));
+        dataSource = new QueryCountingDataSource(target);
+    }
+
+    @AfterEach
+    void tearDown() {
+        QueryCounter.end();
+    }
+
+    @Test
+    void countsPreparedStatementExecutions() throws Exception {
+        QueryCounter.Statistics statistics = QueryCounter.begin();
+        try (Connection con = dataSource.getConnection()) {
+            PreparedStatement ps = con.prepareStatement("SELECT * FROM users WHERE user_id = ?");
+            ps.setString(1, "a");
+            ps.executeQuery();
+            ps.setString(1, "b");
+            ps.executeQuery();
+        }
+        QueryCounter.end();
+
+        assertThat(statistics.getQueryCount()).isEqualTo(2);
+        assertThat(statistics.getShapeCounts().get(0).getKey()).isEqualTo("SELECT * FROM users WHERE user_id = ?");
+        verify(preparedStatement).setString(1, "a");
+        verify(connection).close();
+    }
+
+    @Test
+    void countsPlainStatementAndBatchOnce() throws Exception {
+        QueryCounter.Statistics statistics = QueryCounter.begin();
+        try (Connection con = dataSource.getConnection()) {
+            Statement st = con.createStatement();
+            st.execute("DELETE FROM notifications");
+            st.addBatch("UPDATE users SET is_active = 1");
+            st.addBatch("UPDATE users SET is_active = 0");
+            st.executeBatch();
+        }
+        QueryCounter.end();
+
+        assertThat(statistics.getQueryCount()).isEqualTo(2);
+        assertThat(statistics.describe(1))
+            .contains("DELETE FROM notifications")
+            .contains("UPDATE users SET is_active = 1");
+    }
+
+    @Test
+    void doesNotCountOutsideOfCounting() throws Exception {
+        try (Connection con = dataSource.getConnection()) {
+            con.prepareStatement("SELECT 1").executeQuery();
+        }
+        verify(preparedStatement).executeQuery();
+        assertThat(QueryCounter.current()).isNull();
+    }
+
+    @Test
+    void unwrapReturnsProxyForConnectionInterface() throws Exception {
+        try (Connection con = dataSource.getConnection()) {
+            assertThat(con.unwrap(Connection.class)).isSameAs(con);
+            assertThat(con.isWrapperFor(Connection.class)).isTrue();
+        }
+    }
+
+    @Test
+    void closeClosesCloseableTarget() throws Exception {
+        DataSource pool = mock(DataSource.class, org.mockito.Mockito.withSettings().extraInterfaces(Closeable.class));
+        new QueryCountingDataSource(pool).close();
+        verify((Closeable) pool).close();
+    }
+}
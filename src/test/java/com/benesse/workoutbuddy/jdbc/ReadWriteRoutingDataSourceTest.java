@@ -0,0 +1,77 @@
+package com.benesse.workoutbuddy.jdbc;
+
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.sql.Connection;
+import java.time.Duration;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * {@link ReadWriteRoutingDataSource} のテスト
+ */
+class ReadWriteRoutingDataSourceTest {
+
+    private DataSource primary;
+    private DataSource replica;
+    private ReadWriteRoutingDataSource dataSource;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        primary = mock(DataSource.class);
+        replica = mock(DataSource.class);
+        Connection primaryConnection = mock(Connection.class);
+        Connection replicaConnection = mock(Connection.class);
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        when(replica.getConnection()).thenReturn(replicaConnection);
+        when(primaryConnection.getAutoCommit()).thenReturn(true);
+        when(replicaConnection.getAutoCommit()).thenReturn(true);
+        when(primaryConnection.getTransactionIsolation()).thenReturn(Connection.TRANSACTION_READ_COMMITTED);
+        when(replicaConnection.getTransactionIsolation()).thenReturn(Connection.TRANSACTION_READ_COMMITTED);
+        dataSource = new ReadWriteRoutingDataSource(primary, replica,
+            new ReadYourWritesTracker(Duration.ofSeconds(5), 100));
+        // 初期化時の既定値取得分
+        clearInvocations(primary, replica);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+    }
+
+    @Test
+    void 読み取り専用トランザクションはレプリカを使用する() throws Exception {
+        try (Connection connection = dataSource.getConnection()) {
+            connection.createStatement();
+        }
+
+        verify(replica, atLeastOnce()).getConnection();
+        verify(primary, never()).getConnection();
+    }
+
+    @Test
+    void プライマリ指定の読み取りはプライマリを使用する() throws Exception {
+        ReadWriteRoutingDataSource.readFromPrimary(() -> {
+            try (Connection connection = dataSource.getConnection()) {
+                connection.createStatement();
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+            return null;
+        });
+
+        verify(primary, atLeastOnce()).getConnection();
+        verify(replica, never()).getConnection();
+    }
+}
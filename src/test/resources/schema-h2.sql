@@ -0,0 +1,117 @@
+-- テスト用スキーマ（H2 MSSQLServerモード。本番の schema.sql と同じテーブル定義）
+CREATE TABLE IF NOT EXISTS users (
+    user_id VARCHAR(50) PRIMARY KEY,
+    user_name VARCHAR(100) NOT NULL,
+    password_hash VARCHAR(255) NOT NULL,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    is_active BIT DEFAULT 1
+);
+
+CREATE TABLE IF NOT EXISTS user_goals (
+    goal_id BIGINT IDENTITY(1,1) PRIMARY KEY,
+    user_id VARCHAR(50) NOT NULL,
+    goal_duration VARCHAR(20) NOT NULL,
+    weekly_frequency INT NOT NULL,
+    exercise_type VARCHAR(50) NOT NULL,
+    session_time_minutes INT NOT NULL,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    is_active BIT DEFAULT 1,
+    FOREIGN KEY (user_id) REFERENCES users(user_id)
+);
+
+CREATE TABLE IF NOT EXISTS workouts (
+    workout_id VARCHAR(50) PRIMARY KEY,
+    user_id VARCHAR(50) NOT NULL,
+    workout_date DATE NOT NULL,
+    start_time TIMESTAMP NOT NULL,
+    end_time TIMESTAMP,
+    duration_seconds INT,
+    exercise_type VARCHAR(50) NOT NULL,
+    comment VARCHAR(500),
+    status VARCHAR(20) DEFAULT 'in_progress',
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    FOREIGN KEY (user_id) REFERENCES users(user_id)
+);
+
+CREATE TABLE IF NOT EXISTS user_buddies (
+    buddy_id BIGINT IDENTITY(1,1) PRIMARY KEY,
+    requester_id VARCHAR(50) NOT NULL,
+    requested_id VARCHAR(50) NOT NULL,
+    status VARCHAR(20) DEFAULT 'pending',
+    requested_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    responded_at TIMESTAMP,
+    FOREIGN KEY (requester_id) REFERENCES users(user_id),
+    FOREIGN KEY (requested_id) REFERENCES users(user_id)
+);
+
+CREATE TABLE IF NOT EXISTS notifications (
+    notification_id VARCHAR(50) PRIMARY KEY,
+    from_user_id VARCHAR(50) NOT NULL,
+    to_user_id VARCHAR(50) NOT NULL,
+    notification_type VARCHAR(30) NOT NULL,
+    title VARCHAR(100) NOT NULL,
+    message VARCHAR(500) NOT NULL,
+    related_data VARCHAR(4000),
+    is_read BIT DEFAULT 0,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    FOREIGN KEY (from_user_id) REFERENCES users(user_id),
+    FOREIGN KEY (to_user_id) REFERENCES users(user_id)
+);
+
+CREATE TABLE IF NOT EXISTS health_data (
+    health_id BIGINT IDENTITY(1,1) PRIMARY KEY,
+    user_id VARCHAR(50) NOT NULL,
+    data_type VARCHAR(20) NOT NULL,
+    data_value DECIMAL(10,2),
+    data_text VARCHAR(100),
+    recorded_date DATE NOT NULL,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    FOREIGN KEY (user_id) REFERENCES users(user_id)
+);
+
+CREATE TABLE IF NOT EXISTS workout_reactions (
+    reaction_id BIGINT IDENTITY(1,1) PRIMARY KEY,
+    workout_id VARCHAR(50) NOT NULL,
+    user_id VARCHAR(50) NOT NULL,
+    reaction_type VARCHAR(20) NOT NULL,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    FOREIGN KEY (workout_id) REFERENCES workouts(workout_id),
+    FOREIGN KEY (user_id) REFERENCES users(user_id)
+);
+
+CREATE TABLE IF NOT EXISTS user_weekly_progress (
+    user_id VARCHAR(50) NOT NULL,
+    week_start DATE NOT NULL,
+    distinct_days INT NOT NULL DEFAULT 0,
+    total_seconds INT NOT NULL DEFAULT 0,
+    sessions INT NOT NULL DEFAULT 0,
+    last_workout_date DATE,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (user_id, week_start),
+    FOREIGN KEY (user_id) REFERENCES users(user_id)
+);
+
+CREATE TABLE IF NOT EXISTS workout_reaction_counts (
+    workout_id VARCHAR(50) NOT NULL,
+    reaction_type VARCHAR(20) NOT NULL,
+    reaction_count INT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (workout_id, reaction_type),
+    FOREIGN KEY (workout_id) REFERENCES workouts(workout_id)
+);
+
+CREATE TABLE IF NOT EXISTS outbox_events (
+    event_id BIGINT IDENTITY(1,1) PRIMARY KEY,
+    event_type VARCHAR(50) NOT NULL,
+    aggregate_id VARCHAR(50) NOT NULL,
+    payload VARCHAR(4000),
+    status VARCHAR(20) NOT NULL DEFAULT 'pending',
+    attempts INT NOT NULL DEFAULT 0,
+    available_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    locked_until TIMESTAMP,
+    last_error VARCHAR(500),
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    processed_at TIMESTAMP
+);